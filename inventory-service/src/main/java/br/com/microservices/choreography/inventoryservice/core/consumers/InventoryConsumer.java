@@ -1,12 +1,18 @@
 package br.com.microservices.choreography.inventoryservice.core.consumers;
 
+import br.com.microservices.choreography.inventoryservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.inventoryservice.core.saga.SagaStepExecutor;
 import br.com.microservices.choreography.inventoryservice.core.services.InventoryService;
-import br.com.microservices.choreography.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.inventoryservice.core.utils.SagaLogging;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @AllArgsConstructor
@@ -14,17 +20,44 @@ public class InventoryConsumer {
 
     private final InventoryService inventoryService;
 
-    private final JsonUtil jsonUtil;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+
+    private final SagaStepExecutor sagaStepExecutor;
+
+    private final SagaLogging sagaLogging;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.inventory-success}"
+            topics = "${spring.kafka.topic.inventory-success}",
+            autoStartup = "#{!${spring.kafka.consumer.micro-batch.enabled}}"
     )
 
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from inventory-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        inventoryService.updateInventory(event);
+    public void consumeSuccessEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving success event {} from inventory-success topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, inventoryService::updateInventory));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.inventory-success}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.consumer.micro-batch.enabled}",
+            properties = {
+                    "max.poll.records=${spring.kafka.consumer.micro-batch.max-records}",
+                    "fetch.min.bytes=${spring.kafka.consumer.micro-batch.min-bytes}",
+                    "fetch.max.wait.ms=${spring.kafka.consumer.micro-batch.window-ms}"
+            }
+    )
+
+    public void consumeSuccessEvents(List<ConsumerRecord<String, LazyEvent>> records, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving {} success events from inventory-success topic", records.size());
+        }
+        keyOrderedDispatcher.dispatchBatch(records, acknowledgment,
+                batch -> sagaStepExecutor.executeBatch(batch, inventoryService::updateInventory));
     }
 
     @KafkaListener(
@@ -32,9 +65,39 @@ public class InventoryConsumer {
             topics = "${spring.kafka.topic.inventory-fail}"
     )
 
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from inventory-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        inventoryService.rollbackInventory(event);
+    public void consumeFailEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving rollback event {} from inventory-fail topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, inventoryService::rollbackInventory));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.inventory-success}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeSuccessRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried success event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, inventoryService::updateInventory));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.inventory-fail}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeFailRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried rollback event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, inventoryService::rollbackInventory));
     }
 }
@@ -0,0 +1,10 @@
+package br.com.microservices.choreography.inventoryservice.core.dtos;
+
+public interface InventoryStock {
+
+    Integer getId();
+
+    String getProductCode();
+
+    Integer getAvailable();
+}
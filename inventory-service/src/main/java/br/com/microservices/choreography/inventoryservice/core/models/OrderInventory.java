@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class OrderInventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_inventory_seq")
+    @SequenceGenerator(name = "order_inventory_seq", sequenceName = "order_inventory_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -39,6 +40,18 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantity;
 
+    @Column(nullable = false)
+    private Integer appliedQuantity;
+
+    @Column(nullable = false)
+    private Boolean flushed;
+
+    @Column(nullable = false)
+    private Boolean returned;
+
+    @Version
+    private Integer version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
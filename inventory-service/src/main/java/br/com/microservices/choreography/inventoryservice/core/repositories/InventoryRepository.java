@@ -1,12 +1,48 @@
 package br.com.microservices.choreography.inventoryservice.core.repositories;
 
+import br.com.microservices.choreography.inventoryservice.core.dtos.InventoryStock;
 import br.com.microservices.choreography.inventoryservice.core.models.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     Optional<Inventory> findByProductCode(String productCode);
+
+    List<Inventory> findByProductCodeIn(List<String> productCodes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("SELECT i FROM Inventory i WHERE i.productCode IN :productCodes ORDER BY i.id")
+    List<Inventory> findForUpdateByProductCodeIn(@Param("productCodes") Collection<String> productCodes);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "WITH locked AS (SELECT i.id, d.quantity FROM inventory i "
+            + "JOIN unnest(CAST(:productCodes AS text[]), CAST(:quantities AS int[])) AS d(product_code, quantity) "
+            + "ON i.product_code = d.product_code WHERE i.available >= d.quantity ORDER BY i.id FOR UPDATE OF i) "
+            + "UPDATE inventory i SET available = i.available - locked.quantity FROM locked "
+            + "WHERE i.id = locked.id "
+            + "RETURNING i.id AS id, i.product_code AS productCode, i.available AS available", nativeQuery = true)
+    List<InventoryStock> decrementAvailable(@Param("productCodes") String[] productCodes,
+                                            @Param("quantities") Integer[] quantities);
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "WITH locked AS (SELECT i.id, d.quantity FROM inventory i "
+            + "JOIN unnest(CAST(:ids AS int[]), CAST(:quantities AS int[])) AS d(id, quantity) "
+            + "ON i.id = d.id ORDER BY i.id FOR UPDATE OF i) "
+            + "UPDATE inventory i SET available = i.available + locked.quantity FROM locked "
+            + "WHERE i.id = locked.id", nativeQuery = true)
+    int incrementAvailable(@Param("ids") Integer[] ids, @Param("quantities") Integer[] quantities);
 }
@@ -2,13 +2,25 @@ package br.com.microservices.choreography.inventoryservice.core.repositories;
 
 import br.com.microservices.choreography.inventoryservice.core.models.OrderInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer> {
     Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
 
-    List<OrderInventory> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    @Query("SELECT DISTINCT oi.transactionId FROM OrderInventory oi WHERE oi.transactionId IN :transactionIds")
+    List<String> findExistingTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+
+    @Query("SELECT oi FROM OrderInventory oi JOIN FETCH oi.inventory "
+            + "WHERE oi.orderId = :orderId AND oi.transactionId = :transactionId AND oi.returned = false")
+    List<OrderInventory> findReservedByOrderIdAndTransactionId(@Param("orderId") String orderId,
+                                                               @Param("transactionId") String transactionId);
+
+    @Query("SELECT oi FROM OrderInventory oi JOIN FETCH oi.inventory WHERE oi.flushed = false")
+    List<OrderInventory> findUnflushed();
 }
@@ -1,23 +1,31 @@
 package br.com.microservices.choreography.inventoryservice.core.saga;
 
 import br.com.microservices.choreography.inventoryservice.core.dtos.Event;
+import br.com.microservices.choreography.inventoryservice.core.dtos.History;
+import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.inventoryservice.core.producers.KafkaProducer;
-import br.com.microservices.choreography.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.inventoryservice.core.utils.SagaLogging;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SagaExecutionController {
 
-    public static final String SAGA_LOG_ID = "ORDER ID: %s  | TRANSACTION ID %s | EVENT ID %s";
-
-    private final JsonUtil jsonUtil;
+    private static final String CURRENT_SOURCE = "INVENTORY_SERVICE";
 
     private final KafkaProducer kafkaProducer;
+    private final SagaLogging sagaLogging;
+
+    @Value("${spring.kafka.event-history.delta-enabled}")
+    private boolean deltaHistoryEnabled;
 
     @Value("${spring.kafka.topic.notify-ending}")
     private String notifyEndingTopic;
@@ -28,7 +36,26 @@ public class SagaExecutionController {
     @Value("${spring.kafka.topic.payment-fail}")
     private String paymentFailTopic;
 
+    public Event startStep(Event event) {
+        if (deltaHistoryEnabled && event != null) {
+            event.setEventHistory(null);
+        }
+        return event;
+    }
 
+    public void handleDeadLetter(Event event, Exception ex) {
+        startStep(event);
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        event.addToHistory(History
+                .builder()
+                .source(CURRENT_SOURCE)
+                .status(ESagaStatus.FAIL)
+                .message("Step moved to dead letter topic: ".concat(String.valueOf(ex.getMessage())))
+                .createdAt(LocalDateTime.now())
+                .build());
+        handleFail(event);
+    }
 
     public void handleSaga(Event event) {
         switch (event.getStatus()) {
@@ -39,29 +66,39 @@ public class SagaExecutionController {
     }
 
     private void handleSuccess(Event event) {
-        log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}",
-                event.getSource(), notifyEndingTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), notifyEndingTopic, event.getId());
+        }
         sendEvent(event, notifyEndingTopic);
     }
 
     private void handleRollbackPending(Event event) {
-        log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | {}",
-                event.getSource(), inventoryFailTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), inventoryFailTopic, event.getId());
+        }
         sendEvent(event, inventoryFailTopic);
     }
 
     private void handleFail(Event event) {
-        log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {} ",
-                event.getSource(), paymentFailTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), paymentFailTopic, event.getId());
+        }
         sendEvent(event, paymentFailTopic);
     }
 
     private void sendEvent(Event event, String topic) {
-        var json = jsonUtil.toJson(event);
-        kafkaProducer.sendEvent(json, topic);
-    }
-
-    private String createSagaId(Event event) {
-        return String.format(SAGA_LOG_ID, event.getPayload().getId(), event.getTransactionId(), event.getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            kafkaProducer.sendEvent(event, topic, event.getOrderId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                kafkaProducer.sendEvent(event, topic, event.getOrderId());
+            }
+        });
     }
 }
@@ -0,0 +1,135 @@
+package br.com.microservices.choreography.inventoryservice.core.saga;
+
+import br.com.microservices.choreography.inventoryservice.core.dtos.Event;
+import br.com.microservices.choreography.inventoryservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.inventoryservice.core.models.ProcessedMessage;
+import br.com.microservices.choreography.inventoryservice.core.repositories.ProcessedMessageRepository;
+import br.com.microservices.choreography.inventoryservice.core.utils.JsonEventCodec;
+import br.com.microservices.choreography.inventoryservice.core.utils.SagaHeaders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaStepExecutor {
+
+    private final SagaExecutionController sagaExecutionController;
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonEventCodec jsonEventCodec;
+
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
+    public void execute(ConsumerRecord<String, LazyEvent> record, Consumer<Event> step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (transactionalEnabled) {
+                    executeOnce(SagaHeaders.originalTopic(record), record.value(), step);
+                } else {
+                    step.accept(sagaExecutionController.startStep(record.value().getEvent()));
+                }
+            });
+        } catch (UnexpectedRollbackException ex) {
+            sendHandledFailure(record, ex);
+        }
+    }
+
+    private void sendHandledFailure(ConsumerRecord<String, LazyEvent> record, UnexpectedRollbackException ex) {
+        var event = record.value().getEvent();
+        if (ESagaStatus.SUCCESS.equals(event.getStatus())) {
+            throw ex;
+        }
+        log.warn("Transaction for {} was rolled back after the step handled its failure, sending {} in a new transaction",
+                event.getTransactionId(), event.getStatus());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (transactionalEnabled) {
+                saveProcessedMessage(SagaHeaders.originalTopic(record), event);
+            }
+            sagaExecutionController.handleSaga(event);
+        });
+    }
+
+    public void executeBatch(List<ConsumerRecord<String, LazyEvent>> records, Consumer<List<Event>> step) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var topics = new ArrayList<String>(records.size());
+            var events = new ArrayList<Event>(records.size());
+            for (var record : records) {
+                var topic = SagaHeaders.originalTopic(record);
+                if (transactionalEnabled && resendIfProcessed(topic, record.value())) {
+                    continue;
+                }
+                topics.add(topic);
+                events.add(sagaExecutionController.startStep(record.value().getEvent()));
+            }
+            step.accept(events);
+            if (transactionalEnabled) {
+                for (var i = 0; i < events.size(); i++) {
+                    saveProcessedMessage(topics.get(i), events.get(i));
+                }
+            }
+        });
+    }
+
+    private void executeOnce(String topic, LazyEvent lazyEvent, Consumer<Event> step) {
+        if (resendIfProcessed(topic, lazyEvent)) {
+            return;
+        }
+        var event = sagaExecutionController.startStep(lazyEvent.getEvent());
+        step.accept(event);
+        saveProcessedMessage(topic, event);
+    }
+
+    private boolean resendIfProcessed(String topic, LazyEvent lazyEvent) {
+        var processedMessage = processedMessageRepository
+                .findByTopicAndTransactionId(topic, lazyEvent.getTransactionId());
+        if (processedMessage.isEmpty()) {
+            return false;
+        }
+        log.info("Event from topic {} was already processed for transaction {}, resending its result",
+                topic, lazyEvent.getTransactionId());
+        sagaExecutionController.handleSaga(readEvent(processedMessage.get().getOutputEvent()));
+        return true;
+    }
+
+    private void saveProcessedMessage(String topic, Event event) {
+        processedMessageRepository.save(
+                ProcessedMessage
+                        .builder()
+                        .topic(topic)
+                        .orderId(event.getOrderId())
+                        .transactionId(event.getTransactionId())
+                        .outputEvent(writeEvent(event))
+                        .build()
+        );
+    }
+
+    private String writeEvent(Event event) {
+        try {
+            return new String(jsonEventCodec.encode(event), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error trying to store processed event.", ex);
+        }
+    }
+
+    private Event readEvent(String json) {
+        try {
+            return jsonEventCodec.decode(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error trying to read processed event.", ex);
+        }
+    }
+}
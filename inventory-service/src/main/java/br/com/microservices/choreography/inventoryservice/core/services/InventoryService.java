@@ -3,22 +3,34 @@ package br.com.microservices.choreography.inventoryservice.core.services;
 import br.com.microservices.choreography.inventoryservice.configs.exceptions.ValidationException;
 import br.com.microservices.choreography.inventoryservice.core.dtos.Event;
 import br.com.microservices.choreography.inventoryservice.core.dtos.History;
+import br.com.microservices.choreography.inventoryservice.core.dtos.InventoryStock;
 import br.com.microservices.choreography.inventoryservice.core.dtos.Order;
-import br.com.microservices.choreography.inventoryservice.core.dtos.OrderProducts;
 import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.inventoryservice.core.models.Inventory;
 import br.com.microservices.choreography.inventoryservice.core.models.OrderInventory;
 import br.com.microservices.choreography.inventoryservice.core.repositories.InventoryRepository;
 import br.com.microservices.choreography.inventoryservice.core.repositories.OrderInventoryRepository;
 import br.com.microservices.choreography.inventoryservice.core.saga.SagaExecutionController;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 public class InventoryService {
 
@@ -26,22 +38,57 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final OrderInventoryRepository orderInventoryRepository;
+    private final InventoryStockEngine inventoryStockEngine;
 
     private final SagaExecutionController sagaExecutionController;
 
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
     public void updateInventory(Event event) {
         try {
             checkCurrentValidation(event);
-            createOrderInventory(event);
-            updateInventory(event.getPayload());
+            reserveInventory(event);
             handleSuccess(event);
         } catch (Exception ex) {
+            rethrowIfTransient(ex);
             log.error("Error trying to update inventory: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
         sagaExecutionController.handleSaga(event);
     }
 
+    public void updateInventory(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (inventoryStockEngine.isEnabled()) {
+            events.forEach(this::updateInventory);
+            return;
+        }
+        var demands = events.stream().map(event -> aggregateDemand(event.getPayload())).toList();
+        var inventories = lockInventories(demands);
+        var transactionIds = findExistingTransactionIds(events);
+        var reserved = new LinkedHashMap<String, Integer>();
+        var orderInventories = new ArrayList<OrderInventory>();
+        for (var i = 0; i < events.size(); i++) {
+            var event = events.get(i);
+            try {
+                if (!transactionalEnabled && !transactionIds.add(event.getTransactionId())) {
+                    throw new ValidationException("There's another transactionID for this validation.");
+                }
+                allocateInventory(event, demands.get(i), inventories, reserved, orderInventories);
+                handleSuccess(event);
+            } catch (ValidationException ex) {
+                log.error("Error trying to update inventory: ", ex);
+                handleFailCurrentNotExecuted(event, ex.getMessage());
+            }
+        }
+        applyReservedInventory(reserved);
+        orderInventoryRepository.saveAll(orderInventories);
+        events.forEach(sagaExecutionController::handleSaga);
+    }
+
     public void rollbackInventory(Event event) {
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
@@ -49,12 +96,25 @@ public class InventoryService {
             returnInventoryToPreviousValues(event);
             addHistory(event, "Rollback executed for inventory");
         } catch (Exception ex) {
+            rethrowIfTransient(ex);
             addHistory(event, "Rollback not executed for inventory. ".concat(ex.getMessage()));
         }
         sagaExecutionController.handleSaga(event);
     }
 
+    private void rethrowIfTransient(Exception ex) {
+        if (ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException) {
+            throw (RuntimeException) ex;
+        }
+    }
+
     private void checkCurrentValidation(Event event) {
+        if (transactionalEnabled) {
+            return;
+        }
         Boolean existsTransaction =
                 orderInventoryRepository.existsByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId());
         if (existsTransaction) {
@@ -63,50 +123,126 @@ public class InventoryService {
     }
 
 
-    private void createOrderInventory(Event event) {
-        event.getPayload().getProducts()
-                .forEach(product -> {
-                    var inventory = findInventoryByProductCode(product.getProduct().getCode());
-                    var orderInventory = createOrderInventory(event, product, inventory);
-                    orderInventoryRepository.save(orderInventory);
-                });
+    private void reserveInventory(Event event) {
+        var demand = aggregateDemand(event.getPayload());
+        if (tryReserveInventory(event, demand)) {
+            return;
+        }
+        if (!allProductsExist(demand.keySet())) {
+            throw new ValidationException("Inventory not found by informed product.");
+        }
+        throw new ValidationException("Product is out of stock");
+    }
+
+    private Map<String, Integer> aggregateDemand(Order payload) {
+        var demand = new LinkedHashMap<String, Integer>();
+        payload.getProducts()
+                .forEach(product -> demand.merge(product.getProduct().getCode(), product.getQuantity(), Integer::sum));
+        return demand;
     }
 
-    private Inventory findInventoryByProductCode(String productCode) {
-        return inventoryRepository.findByProductCode(productCode)
-                .orElseThrow(() -> new ValidationException("Inventory not found by informed product."));
+    private boolean allProductsExist(Set<String> productCodes) {
+        if (inventoryStockEngine.isEnabled()) {
+            return productCodes.stream().allMatch(inventoryStockEngine::contains);
+        }
+        return inventoryRepository.findByProductCodeIn(new ArrayList<>(productCodes)).size() >= productCodes.size();
     }
 
-    private OrderInventory createOrderInventory(Event event, OrderProducts product, Inventory inventory) {
-        int newQuantity = inventory.getAvailable() - product.getQuantity();
+    private boolean tryReserveInventory(Event event, Map<String, Integer> demand) {
+        var stocks = inventoryStockEngine.isEnabled()
+                ? inventoryStockEngine.reserve(demand)
+                : inventoryRepository.decrementAvailable(
+                        demand.keySet().toArray(String[]::new), demand.values().toArray(Integer[]::new));
+        if (stocks.size() < demand.size()) {
+            if (!inventoryStockEngine.isEnabled() && !stocks.isEmpty()) {
+                inventoryRepository.incrementAvailable(
+                        stocks.stream().map(InventoryStock::getId).toArray(Integer[]::new),
+                        stocks.stream().map(stock -> demand.get(stock.getProductCode())).toArray(Integer[]::new));
+            }
+            return false;
+        }
+        orderInventoryRepository.saveAll(stocks
+                .stream()
+                .map(stock -> createOrderInventory(
+                        event, stock.getId(), stock.getAvailable(), demand.get(stock.getProductCode())))
+                .toList());
+        return true;
+    }
+
+    private OrderInventory createOrderInventory(Event event, Integer inventoryId, int newQuantity, int orderQuantity) {
+        var writeBehind = inventoryStockEngine.isEnabled();
         return OrderInventory
                 .builder()
-                .inventory(inventory)
-                .oldQuantity(inventory.getAvailable())
-                .orderQuantity(product.getQuantity())
+                .inventory(inventoryRepository.getReferenceById(inventoryId))
+                .oldQuantity(newQuantity + orderQuantity)
+                .orderQuantity(orderQuantity)
                 .newQuantity(newQuantity)
+                .appliedQuantity(writeBehind ? 0 : orderQuantity)
+                .flushed(!writeBehind)
+                .returned(false)
                 .orderId(event.getPayload().getId())
                 .transactionId(event.getTransactionId())
                 .build();
     }
 
+    private Map<String, Inventory> lockInventories(List<Map<String, Integer>> demands) {
+        var productCodes = new HashSet<String>();
+        demands.forEach(demand -> productCodes.addAll(demand.keySet()));
+        var inventories = new HashMap<String, Inventory>();
+        inventoryRepository.findForUpdateByProductCodeIn(productCodes)
+                .forEach(inventory -> inventories.put(inventory.getProductCode(), inventory));
+        return inventories;
+    }
 
-    private void updateInventory(Order payload) {
-        payload.getProducts()
-                .forEach(product -> {
-                    var inventory = findInventoryByProductCode(product.getProduct().getCode());
-                    checkInventory(inventory.getAvailable(), product.getQuantity());
-                    inventory.setAvailable(inventory.getAvailable() - product.getQuantity());
-                    inventoryRepository.save(inventory);
-                });
+    private Set<String> findExistingTransactionIds(List<Event> events) {
+        if (transactionalEnabled) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(orderInventoryRepository.findExistingTransactionIds(
+                events.stream().map(Event::getTransactionId).toList()));
+    }
+
+    private void allocateInventory(Event event,
+                                   Map<String, Integer> demand,
+                                   Map<String, Inventory> inventories,
+                                   Map<String, Integer> reserved,
+                                   List<OrderInventory> orderInventories) {
+        for (var entry : demand.entrySet()) {
+            var inventory = inventories.get(entry.getKey());
+            if (inventory == null) {
+                throw new ValidationException("Inventory not found by informed product.");
+            }
+            checkInventory(remainingAvailable(inventory, reserved), entry.getValue());
+        }
+        demand.forEach((productCode, quantity) -> {
+            var inventory = inventories.get(productCode);
+            reserved.merge(productCode, quantity, Integer::sum);
+            orderInventories.add(createOrderInventory(
+                    event, inventory.getId(), remainingAvailable(inventory, reserved), quantity));
+        });
+    }
+
+    private int remainingAvailable(Inventory inventory, Map<String, Integer> reserved) {
+        return inventory.getAvailable() - reserved.getOrDefault(inventory.getProductCode(), 0);
     }
 
     private void checkInventory(int available, int orderQuantity) {
-        if(orderQuantity > available) {
+        if (orderQuantity > available) {
             throw new ValidationException("Product is out of stock");
         }
     }
 
+    private void applyReservedInventory(Map<String, Integer> reserved) {
+        if (reserved.isEmpty()) {
+            return;
+        }
+        var stocks = inventoryRepository.decrementAvailable(
+                reserved.keySet().toArray(String[]::new), reserved.values().toArray(Integer[]::new));
+        if (stocks.size() < reserved.size()) {
+            throw new IllegalStateException("Locked inventory changed while applying a batch of reservations.");
+        }
+    }
+
     private void handleSuccess(Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
@@ -131,13 +267,26 @@ public class InventoryService {
     }
 
     private void returnInventoryToPreviousValues(Event event) {
-        orderInventoryRepository.findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .forEach(orderInventory -> {
-                    var inventory = orderInventory.getInventory();
-                    inventory.setAvailable(orderInventory.getOldQuantity());
-                    inventoryRepository.save(inventory);
-                    log.info("Restored inventory for order {} from {} to {}",
-                            event.getPayload().getId(), orderInventory.getNewQuantity(), inventory.getAvailable());
-                });
+        var orderInventories = orderInventoryRepository
+                .findReservedByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId());
+        if (orderInventories.isEmpty()) {
+            return;
+        }
+        if (inventoryStockEngine.isEnabled()) {
+            orderInventories.forEach(orderInventory -> orderInventory.setFlushed(false));
+            inventoryStockEngine.releaseAfterCommit(orderInventories);
+        } else {
+            inventoryRepository.incrementAvailable(
+                    orderInventories.stream().map(orderInventory -> orderInventory.getInventory().getId())
+                            .toArray(Integer[]::new),
+                    orderInventories.stream().map(OrderInventory::getOrderQuantity).toArray(Integer[]::new));
+            orderInventories.forEach(orderInventory -> orderInventory.setAppliedQuantity(0));
+        }
+        orderInventories.forEach(orderInventory -> orderInventory.setReturned(true));
+        orderInventoryRepository.saveAll(orderInventories);
+        orderInventories.forEach(orderInventory -> log.info("Returned {} units of {} to inventory for order {}",
+                orderInventory.getOrderQuantity(),
+                orderInventory.getInventory().getProductCode(),
+                event.getPayload().getId()));
     }
 }
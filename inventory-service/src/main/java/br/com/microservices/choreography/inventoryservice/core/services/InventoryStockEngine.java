@@ -0,0 +1,172 @@
+package br.com.microservices.choreography.inventoryservice.core.services;
+
+import br.com.microservices.choreography.inventoryservice.core.dtos.InventoryStock;
+import br.com.microservices.choreography.inventoryservice.core.models.OrderInventory;
+import br.com.microservices.choreography.inventoryservice.core.repositories.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repositories.OrderInventoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class InventoryStockEngine {
+
+    private static final int REJECTED = -1;
+
+    private final Map<String, Stock> stocks = new ConcurrentHashMap<>();
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public InventoryStockEngine(InventoryRepository inventoryRepository,
+                                OrderInventoryRepository orderInventoryRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${inventory.engine.enabled}") boolean enabled) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderInventoryRepository = orderInventoryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void recover() {
+        var recovered = flush();
+        if (recovered > 0) {
+            log.info("Applied {} pending inventory journal entries", recovered);
+        }
+        if (!enabled) {
+            return;
+        }
+        inventoryRepository.findAll().forEach(inventory -> stocks.put(
+                inventory.getProductCode(), new Stock(inventory.getId(), new AtomicInteger(inventory.getAvailable()))));
+        log.info("Inventory engine loaded {} products into memory", stocks.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean contains(String productCode) {
+        return stocks.containsKey(productCode);
+    }
+
+    public List<InventoryStock> reserve(Map<String, Integer> demand) {
+        var reserved = new ArrayList<InventoryStock>(demand.size());
+        for (var entry : demand.entrySet()) {
+            var stock = stocks.get(entry.getKey());
+            var available = stock == null ? REJECTED : tryDecrement(stock.available(), entry.getValue());
+            if (available == REJECTED) {
+                reserved.forEach(reservedStock -> release(reservedStock.getProductCode(),
+                        demand.get(reservedStock.getProductCode())));
+                return List.of();
+            }
+            reserved.add(new ReservedStock(stock.inventoryId(), entry.getKey(), available));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reserved.forEach(reservedStock -> release(reservedStock.getProductCode(),
+                            demand.get(reservedStock.getProductCode())));
+                }
+            }
+        });
+        return reserved;
+    }
+
+    public void releaseAfterCommit(List<OrderInventory> orderInventories) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderInventories.forEach(orderInventory -> release(
+                        orderInventory.getInventory().getProductCode(), orderInventory.getOrderQuantity()));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.engine.flush-interval-ms}")
+    public void flushJournal() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("Error trying to flush inventory journal, it will be retried on the next interval: ", ex);
+        }
+    }
+
+    private int flush() {
+        return transactionTemplate.execute(status -> {
+            var journal = orderInventoryRepository.findUnflushed();
+            if (journal.isEmpty()) {
+                return 0;
+            }
+            var deltas = new LinkedHashMap<Integer, Integer>();
+            journal.forEach(orderInventory -> {
+                var target = orderInventory.getReturned() ? 0 : orderInventory.getOrderQuantity();
+                deltas.merge(orderInventory.getInventory().getId(),
+                        orderInventory.getAppliedQuantity() - target, Integer::sum);
+                orderInventory.setAppliedQuantity(target);
+                orderInventory.setFlushed(true);
+            });
+            inventoryRepository.incrementAvailable(
+                    deltas.keySet().toArray(Integer[]::new), deltas.values().toArray(Integer[]::new));
+            orderInventoryRepository.saveAll(journal);
+            return journal.size();
+        });
+    }
+
+    private int tryDecrement(AtomicInteger available, int quantity) {
+        var current = available.get();
+        while (current >= quantity) {
+            if (available.compareAndSet(current, current - quantity)) {
+                return current - quantity;
+            }
+            current = available.get();
+        }
+        return REJECTED;
+    }
+
+    private void release(String productCode, int quantity) {
+        var stock = stocks.get(productCode);
+        if (stock != null) {
+            stock.available().addAndGet(quantity);
+        }
+    }
+
+    private record Stock(Integer inventoryId, AtomicInteger available) {
+    }
+
+    private record ReservedStock(Integer id, String productCode, Integer available) implements InventoryStock {
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public String getProductCode() {
+            return productCode;
+        }
+
+        @Override
+        public Integer getAvailable() {
+            return available;
+        }
+    }
+}
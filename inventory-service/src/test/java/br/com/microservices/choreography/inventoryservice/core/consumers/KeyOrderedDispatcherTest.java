@@ -0,0 +1,98 @@
+package br.com.microservices.choreography.inventoryservice.core.consumers;
+
+import br.com.microservices.choreography.inventoryservice.core.dtos.Event;
+import br.com.microservices.choreography.inventoryservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.inventoryservice.core.utils.SagaLogging;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class KeyOrderedDispatcherTest {
+
+    private static final String TOPIC = "inventory-success";
+    private static final int POISON_INDEX = 2;
+
+    private FailedRecordRouter failedRecordRouter;
+    private Acknowledgment acknowledgment;
+    private KeyOrderedDispatcher keyOrderedDispatcher;
+    private List<ConsumerRecord<String, LazyEvent>> records;
+    private List<ConsumerRecord<String, LazyEvent>> handled;
+
+    @BeforeEach
+    void setUp() {
+        failedRecordRouter = mock(FailedRecordRouter.class);
+        acknowledgment = mock(Acknowledgment.class);
+        keyOrderedDispatcher = new KeyOrderedDispatcher(failedRecordRouter, mock(SagaLogging.class),
+                false, 1, false, 1, 0);
+        records = new ArrayList<>();
+        for (var offset = 0; offset < 5; offset++) {
+            records.add(offset == POISON_INDEX ? createRecord(offset, null) : createRecord(offset, createEvent(offset)));
+        }
+        handled = new ArrayList<>();
+    }
+
+    @Test
+    void routedPoisonRecordIsLeftOutOfTheBatch() {
+        keyOrderedDispatcher.dispatchBatch(records, acknowledgment, handled::addAll);
+
+        assertThat(handled).extracting(ConsumerRecord::offset).containsExactly(0L, 1L, 3L, 4L);
+        verify(failedRecordRouter).route(eq(records.get(POISON_INDEX)), any());
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    @Test
+    void unroutablePoisonRecordOnlyRedeliversFromItsOwnOffset() {
+        doThrow(new IllegalStateException("Broker unavailable"))
+                .when(failedRecordRouter).route(eq(records.get(POISON_INDEX)), any());
+
+        keyOrderedDispatcher.dispatchBatch(records, acknowledgment, handled::addAll);
+
+        assertThat(handled).extracting(ConsumerRecord::offset).containsExactly(0L, 1L);
+        verify(acknowledgment).nack(eq(POISON_INDEX), any(Duration.class));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void failedBatchIsRoutedWithoutRedeliveringRoutedRecords() {
+        keyOrderedDispatcher.dispatchBatch(records, acknowledgment, batch -> {
+            throw new IllegalStateException("Step failed");
+        });
+
+        for (var record : records) {
+            verify(failedRecordRouter).route(eq(record), any());
+        }
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    private ConsumerRecord<String, LazyEvent> createRecord(long offset, LazyEvent value) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, "transaction-" + offset, value);
+    }
+
+    private LazyEvent createEvent(long offset) {
+        var event = Event
+                .builder()
+                .id("event-" + offset)
+                .orderId("order-" + offset)
+                .transactionId("transaction-" + offset)
+                .build();
+        return new LazyEvent(event.getOrderId(), event.getTransactionId(), ESagaStatus.SUCCESS, null,
+                new byte[0], data -> event);
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.microservices.choreography.inventoryservice.core.services;
+
+import br.com.microservices.choreography.inventoryservice.core.dtos.Event;
+import br.com.microservices.choreography.inventoryservice.core.dtos.Order;
+import br.com.microservices.choreography.inventoryservice.core.dtos.OrderProducts;
+import br.com.microservices.choreography.inventoryservice.core.dtos.Product;
+import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.inventoryservice.core.repositories.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repositories.OrderInventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.saga.SagaExecutionController;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InventoryServiceTest {
+
+    private static final int MAX_RESERVATION_STATEMENTS = 4;
+    private static final int SEEDED_INVENTORY_ID_OFFSET = 100;
+    private static final int SEEDED_AVAILABLE = 10;
+    private static final long ORDER_INVENTORY_SEQUENCE_INCREMENT = 50;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private OrderInventoryRepository orderInventoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private InventoryService inventoryService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryService(
+                inventoryRepository,
+                orderInventoryRepository,
+                mock(InventoryStockEngine.class),
+                mock(SagaExecutionController.class)
+        );
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void multiSkuReservationUsesConstantNumberOfStatements() {
+        var event = createEvent(Map.of("COMIC_BOOKS", 1, "BOOKS", 1, "MOVIES", 2, "MUSIC", 3));
+        statistics.clear();
+
+        inventoryService.updateInventory(event);
+        entityManager.flush();
+
+        assertThat(event.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_RESERVATION_STATEMENTS);
+        assertThat(available("MOVIES")).isEqualTo(3);
+        assertThat(available("MUSIC")).isEqualTo(6);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void reservationStatementCountDoesNotGrowWithOrderLines(int lineCount) {
+        var quantities = seedProducts(lineCount);
+        var singleLineStatements = countReservationStatements(createEvent(Map.of("COMIC_BOOKS", 1)));
+
+        var statements = countReservationStatements(createEvent(quantities));
+
+        assertThat(statements).isEqualTo(singleLineStatements);
+        assertThat(statements).isLessThanOrEqualTo(MAX_RESERVATION_STATEMENTS);
+        assertThat(available(quantities.keySet().iterator().next())).isEqualTo(SEEDED_AVAILABLE - 1);
+    }
+
+    @Test
+    void outOfStockSkuLeavesEveryStockUnchanged() {
+        var event = createEvent(Map.of("COMIC_BOOKS", 1, "BOOKS", 3, "MOVIES", 1));
+
+        inventoryService.updateInventory(event);
+        entityManager.flush();
+
+        assertThat(event.getStatus()).isEqualTo(ESagaStatus.ROLLBACK_PENDING);
+        assertThat(available("COMIC_BOOKS")).isEqualTo(4);
+        assertThat(available("BOOKS")).isEqualTo(2);
+        assertThat(available("MOVIES")).isEqualTo(5);
+    }
+
+    // Sequence round trips depend on how much of the pooled id block earlier tests used, so they are left out.
+    private long countReservationStatements(Event event) {
+        var sequenceValue = orderInventorySequenceValue();
+        statistics.clear();
+
+        inventoryService.updateInventory(event);
+        entityManager.flush();
+
+        var statements = statistics.getPrepareStatementCount();
+        assertThat(event.getStatus()).isEqualTo(ESagaStatus.SUCCESS);
+        return statements - (orderInventorySequenceValue() - sequenceValue) / ORDER_INVENTORY_SEQUENCE_INCREMENT;
+    }
+
+    private long orderInventorySequenceValue() {
+        return ((Number) entityManager
+                .createNativeQuery("SELECT COALESCE(last_value, start_value - increment_by) FROM pg_sequences "
+                        + "WHERE sequencename = 'order_inventory_seq'")
+                .getSingleResult())
+                .longValue();
+    }
+
+    private Map<String, Integer> seedProducts(int count) {
+        var quantities = new LinkedHashMap<String, Integer>();
+        for (var i = 1; i <= count; i++) {
+            var productCode = "SEEDED_PRODUCT_" + i;
+            entityManager
+                    .createNativeQuery("INSERT INTO inventory (id, product_code, available) VALUES (?1, ?2, ?3)")
+                    .setParameter(1, SEEDED_INVENTORY_ID_OFFSET + i)
+                    .setParameter(2, productCode)
+                    .setParameter(3, SEEDED_AVAILABLE)
+                    .executeUpdate();
+            quantities.put(productCode, 1);
+        }
+        return quantities;
+    }
+
+    private int available(String productCode) {
+        entityManager.clear();
+        return inventoryRepository.findByProductCode(productCode).orElseThrow().getAvailable();
+    }
+
+    private Event createEvent(Map<String, Integer> quantities) {
+        var products = quantities
+                .entrySet()
+                .stream()
+                .map(entry -> new OrderProducts(new Product(entry.getKey(), 10), entry.getValue()))
+                .toList();
+        var order = Order
+                .builder()
+                .id("order-" + System.nanoTime())
+                .transactionId("transaction-" + System.nanoTime())
+                .products(products)
+                .createdAt(LocalDateTime.now())
+                .build();
+        return Event
+                .builder()
+                .id(order.getTransactionId())
+                .transactionId(order.getTransactionId())
+                .orderId(order.getId())
+                .payload(order)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
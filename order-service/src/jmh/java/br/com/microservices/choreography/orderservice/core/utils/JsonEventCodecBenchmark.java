@@ -0,0 +1,71 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEventCodecBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private JsonUtil jsonUtil;
+    private JsonEventCodec jsonEventCodec;
+    private Event event;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonUtil = new JsonUtil(objectMapper);
+        jsonEventCodec = new JsonEventCodec(objectMapper);
+        event = SampleEvents.withProducts(productCount);
+        json = jsonEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public String jsonUtilToJson() {
+        return jsonUtil.toJson(event);
+    }
+
+    @Benchmark
+    public byte[] objectMapperEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] codecEncode() throws IOException {
+        return jsonEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public Event objectMapperDecode() throws IOException {
+        return objectMapper.readValue(json, Event.class);
+    }
+
+    @Benchmark
+    public Event objectMapperDecodeFromString() throws IOException {
+        return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), Event.class);
+    }
+
+    @Benchmark
+    public Event codecDecode() throws IOException {
+        return jsonEventCodec.decode(json);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.History;
+import br.com.microservices.choreography.orderservice.core.documents.Order;
+import br.com.microservices.choreography.orderservice.core.documents.OrderProducts;
+import br.com.microservices.choreography.orderservice.core.documents.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.microservices.choreography.orderservice.core.enums.ESagaStatus.SUCCESS;
+
+final class SampleEvents {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123456789);
+    private static final String TRANSACTION_ID = "1704105015123_4d2c7f1e-8b3a-4f6e-9c1d-2a5b7e9f0c3d";
+    private static final String ORDER_ID = "65a1f3c2e4b0a1b2c3d4e5f6";
+    private static final List<String> HOP_SOURCES =
+            List.of("ORDER_SERVICE", "PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE", "INVENTORY_SERVICE");
+
+    private SampleEvents() {
+    }
+
+    static Event withProducts(int productCount) {
+        var products = new ArrayList<OrderProducts>(productCount);
+        for (var i = 0; i < productCount; i++) {
+            products.add(new OrderProducts(new Product("PRODUCT_" + i, 10.5 + i), 1 + i % 5));
+        }
+        var order = Order
+                .builder()
+                .id(ORDER_ID)
+                .transactionId(TRANSACTION_ID)
+                .products(products)
+                .createdAt(CREATED_AT)
+                .totalAmount(products.stream().mapToDouble(item -> item.getProduct().getUnitValue() * item.getQuantity()).sum())
+                .totalItems(products.stream().mapToInt(OrderProducts::getQuantity).sum())
+                .build();
+        var event = Event
+                .builder()
+                .id(TRANSACTION_ID)
+                .transactionId(TRANSACTION_ID)
+                .orderId(ORDER_ID)
+                .payload(order)
+                .source("INVENTORY_SERVICE")
+                .status(SUCCESS)
+                .createdAt(CREATED_AT)
+                .build();
+        for (var i = 0; i < HOP_SOURCES.size(); i++) {
+            event.addToHistory(History
+                    .builder()
+                    .source(HOP_SOURCES.get(i))
+                    .status(SUCCESS)
+                    .message("Step finished successfully!")
+                    .createdAt(CREATED_AT.plusNanos(i * 1_000_000L))
+                    .build());
+        }
+        return event;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionIdGeneratorBenchmark {
+
+    private static final int CONTENDED_THREADS = 8;
+
+    private final TransactionIdGenerator snowflake = new SnowflakeTransactionIdGenerator("1", "");
+    private final TransactionIdGenerator uuid = new UuidTransactionIdGenerator();
+
+    @Benchmark
+    public String snowflake() {
+        return snowflake.generate();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return uuid.generate();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String snowflakeContended() {
+        return snowflake.generate();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public String uuidContended() {
+        return uuid.generate();
+    }
+}
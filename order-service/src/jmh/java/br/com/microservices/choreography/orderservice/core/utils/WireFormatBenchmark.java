@@ -0,0 +1,75 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private JsonUtil jsonUtil;
+    private JsonEventCodec jsonEventCodec;
+    private BinaryEventCodec binaryEventCodec;
+    private Event event;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jsonUtil = new JsonUtil(objectMapper);
+        jsonEventCodec = new JsonEventCodec(objectMapper);
+        binaryEventCodec = new BinaryEventCodec();
+        event = SampleEvents.withProducts(productCount);
+        json = jsonEventCodec.encode(event);
+        binary = binaryEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] jsonUtilEncode() {
+        return jsonUtil.toJson(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Event objectMapperDecodeFromString() throws IOException {
+        return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), Event.class);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return jsonEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binaryEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public Event jsonDecode() throws IOException {
+        return jsonEventCodec.decode(json);
+    }
+
+    @Benchmark
+    public Event binaryDecode() throws IOException {
+        return binaryEventCodec.decode(binary);
+    }
+}
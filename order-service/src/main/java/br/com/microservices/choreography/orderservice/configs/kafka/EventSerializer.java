@@ -0,0 +1,47 @@
+package br.com.microservices.choreography.orderservice.configs.kafka;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.enums.EWireFormat;
+import br.com.microservices.choreography.orderservice.core.utils.BinaryEventCodec;
+import br.com.microservices.choreography.orderservice.core.utils.JsonEventCodec;
+import br.com.microservices.choreography.orderservice.core.utils.SagaHeaders;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class EventSerializer implements Serializer<Event> {
+
+    private final JsonEventCodec jsonEventCodec;
+    private final BinaryEventCodec binaryEventCodec;
+    private final Function<String, EWireFormat> wireFormatResolver;
+    private final Map<String, EWireFormat> wireFormatByTopic = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Event event) {
+        if (event != null) {
+            SagaHeaders.writeRouting(headers, event);
+        }
+        return serialize(topic, event);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Event event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return switch (wireFormatByTopic.computeIfAbsent(topic, wireFormatResolver)) {
+                case JSON -> jsonEventCodec.encode(event);
+                case BINARY -> binaryEventCodec.encode(event);
+            };
+        } catch (Exception ex) {
+            throw new SerializationException("Error trying to serialize event for topic " + topic, ex);
+        }
+    }
+}
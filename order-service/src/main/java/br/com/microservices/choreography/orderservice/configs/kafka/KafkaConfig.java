@@ -1,28 +1,43 @@
 package br.com.microservices.choreography.orderservice.configs.kafka;
 
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.enums.EWireFormat;
+import br.com.microservices.choreography.orderservice.core.utils.BinaryEventCodec;
+import br.com.microservices.choreography.orderservice.core.utils.JsonEventCodec;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @EnableKafka
 @Configuration
 @RequiredArgsConstructor
 public class KafkaConfig {
 
-    private static final Integer PARTITION_COUNT = 1;
     private static final Integer REPLICA_COUNT = 1;
+    private static final String TOPIC_PARTITIONS_PROPERTY = "spring.kafka.partitions.topics.";
+    private static final String TOPIC_WIRE_FORMAT_PROPERTY = "spring.kafka.wire-format.topics.";
+
+    private final Environment environment;
+    private final JsonEventCodec jsonEventCodec;
+    private final BinaryEventCodec binaryEventCodec;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
@@ -33,6 +48,30 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${spring.kafka.partitions.default}")
+    private Integer defaultPartitionCount;
+
+    @Value("${spring.kafka.wire-format.default}")
+    private EWireFormat defaultWireFormat;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+
+    @Value("${spring.kafka.consumer.notify-ending-batch.max-records}")
+    private String batchMaxRecords;
+
+    @Value("${spring.kafka.consumer.notify-ending-batch.max-wait-ms}")
+    private String batchMaxWaitMs;
+
+    @Value("${spring.kafka.consumer.notify-ending-batch.min-bytes}")
+    private String batchMinBytes;
+
+    @Value("${spring.kafka.producer.batch-size}")
+    private Integer producerBatchSize;
+
+    @Value("${spring.kafka.producer.linger-ms}")
+    private Integer producerLingerMs;
+
     @Value("${spring.kafka.topic.product-validation-start}")
     private String productValidationStartTopic;
 
@@ -40,46 +79,129 @@ public class KafkaConfig {
     private String notifyEndingTopic;
 
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(consumerProperties());
+    public EventDeserializer eventDeserializer() {
+        return new EventDeserializer(jsonEventCodec, binaryEventCodec);
+    }
+
+    @Bean
+    public ConsumerFactory<String, Event> consumerFactory(EventDeserializer eventDeserializer) {
+        return new DefaultKafkaConsumerFactory<>(
+                consumerProperties(),
+                new StringDeserializer(),
+                eventDeserializer
+        );
+    }
+
+    @Bean
+    public ConsumerFactory<String, byte[]> rawConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(
+                consumerProperties(),
+                new StringDeserializer(),
+                new ByteArrayDeserializer()
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Event> consumerFactory) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        return factory;
     }
 
     private Map<String, Object> consumerProperties() {
         var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         return props;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProperties());
+    public ConcurrentKafkaListenerContainerFactory<String, Event> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Event> consumerFactory) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setKafkaConsumerProperties(batchConsumerProperties());
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> rawBatchKafkaListenerContainerFactory(
+            ConsumerFactory<String, byte[]> rawConsumerFactory) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, byte[]>();
+        factory.setConsumerFactory(rawConsumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setKafkaConsumerProperties(batchConsumerProperties());
+        return factory;
+    }
+
+    private Properties batchConsumerProperties() {
+        var props = new Properties();
+        props.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxRecords);
+        props.setProperty(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchMaxWaitMs);
+        props.setProperty(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchMinBytes);
+        return props;
+    }
+
+    @Bean
+    public ProducerFactory<String, Event> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new EventSerializer(jsonEventCodec, binaryEventCodec, this::wireFormat)
+        );
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> rawProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new ByteArraySerializer()
+        );
     }
 
     private Map<String, Object> producerProperties() {
         var props = new HashMap<String, Object>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, producerLingerMs);
         return props;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, Event> kafkaTemplate(ProducerFactory<String, Event> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 
+    @Bean
+    public KafkaTemplate<String, byte[]> rawKafkaTemplate(ProducerFactory<String, byte[]> rawProducerFactory) {
+        return new KafkaTemplate<>(rawProducerFactory);
+    }
+
     private NewTopic buildTopic(String name) {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(partitionCount(name))
                 .build();
     }
 
+    private Integer partitionCount(String topic) {
+        return environment.getProperty(TOPIC_PARTITIONS_PROPERTY.concat(topic), Integer.class, defaultPartitionCount);
+    }
+
+    private EWireFormat wireFormat(String topic) {
+        return environment.getProperty(TOPIC_WIRE_FORMAT_PROPERTY.concat(topic), EWireFormat.class, defaultWireFormat);
+    }
+
     @Bean
     public NewTopic productValidationStartTopic() {
         return buildTopic(productValidationStartTopic);
@@ -0,0 +1,40 @@
+package br.com.microservices.choreography.orderservice.configs.mongo;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Declared here instead of with @CompoundIndex/@Indexed because Order and Event are also embedded in the
+    // event and outbox documents, where annotation-driven index creation would index the nested copies too.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        var eventIndexes = mongoTemplate.indexOps(Event.class);
+        eventIndexes.ensureIndex(new Index()
+                .on("orderId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .named("order_id_created_at"));
+        eventIndexes.ensureIndex(new Index()
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("created_at_id"));
+        mongoTemplate.indexOps(Order.class).ensureIndex(new Index()
+                .on("transactionId", Sort.Direction.ASC)
+                .unique()
+                .named("transaction_id"));
+        log.info("Mongo indexes ensured for event and order collections");
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.microservices.choreography.orderservice.core.caches;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class SagaResultCache {
+
+    private static final String CACHE_NAME = "saga-result";
+    private static final String ORDER_KEY_PREFIX = "order:";
+    private static final String TRANSACTION_KEY_PREFIX = "transaction:";
+
+    private final Cache<String, Event> cache;
+
+    public SagaResultCache(MeterRegistry meterRegistry,
+                           @Value("${order.saga-cache.maximum-size}") long maximumSize,
+                           @Value("${order.saga-cache.expire-after-write}") Duration expireAfterWrite) {
+        cache = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public void put(Event event) {
+        cache.put(ORDER_KEY_PREFIX.concat(event.getOrderId()), event);
+        cache.put(TRANSACTION_KEY_PREFIX.concat(event.getTransactionId()), event);
+    }
+
+    public Optional<Event> findByOrderId(String orderId) {
+        return Optional.ofNullable(cache.getIfPresent(ORDER_KEY_PREFIX.concat(orderId)));
+    }
+
+    public Optional<Event> findByTransactionId(String transactionId) {
+        return Optional.ofNullable(cache.getIfPresent(TRANSACTION_KEY_PREFIX.concat(transactionId)));
+    }
+}
@@ -1,28 +1,97 @@
 package br.com.microservices.choreography.orderservice.core.consumers;
 
+import br.com.microservices.choreography.orderservice.configs.kafka.EventDeserializer;
+import br.com.microservices.choreography.orderservice.core.documents.Event;
 import br.com.microservices.choreography.orderservice.core.services.EventService;
-import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.orderservice.core.utils.SagaLogging;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 @Slf4j
 @Component
 @AllArgsConstructor
 public class EventConsumer {
 
     private final EventService eventService;
-    private final JsonUtil jsonUtil;
+
+    private final SagaLogging sagaLogging;
+
+    private final EventDeserializer eventDeserializer;
+
+    private final FailedRecordRouter failedRecordRouter;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.notify-ending}"
+            topics = "${spring.kafka.topic.notify-ending}",
+            autoStartup = "#{!${spring.kafka.consumer.notify-ending-batch.enabled}}"
+    )
+
+    public void consumeNotifyEndingEvent(Event event) {
+        sagaLogging.putIds(event.getOrderId(), event.getTransactionId());
+        try {
+            if (sagaLogging.isEnabled()) {
+                log.info("Receiving ending notification event {} from notify-ending topic", sagaLogging.payload(event));
+            }
+            eventService.notifyEnding(event);
+        } finally {
+            sagaLogging.clearIds();
+        }
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.notify-ending}",
+            containerFactory = "rawBatchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.consumer.notify-ending-batch.enabled}"
+    )
+
+    public void consumeNotifyEndingEvents(List<ConsumerRecord<String, byte[]>> records) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving {} ending notification events from notify-ending topic", records.size());
+        }
+        var decoded = records
+                .parallelStream()
+                .map(record -> eventDeserializer.deserialize(record.topic(), record.value()))
+                .toList();
+        var events = new ArrayList<Event>(decoded.size());
+        for (var i = 0; i < decoded.size(); i++) {
+            if (decoded.get(i) == null) {
+                failedRecordRouter.routeToDeadLetter(records.get(i), "Record value could not be deserialized");
+            } else {
+                events.add(decoded.get(i));
+            }
+        }
+        eventService.notifyEnding(events);
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.history-group-id}",
+            topics = {
+                    "${spring.kafka.topic.payment-success}",
+                    "${spring.kafka.topic.inventory-success}",
+                    "${spring.kafka.topic.product-validation-fail}",
+                    "${spring.kafka.topic.payment-fail}",
+                    "${spring.kafka.topic.inventory-fail}"
+            },
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.event-history.delta-enabled}"
     )
 
-    public void consumeNotifyEndingEvent(String payload) {
-        log.info("Receiving ending notification event {} from notify-ending topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        eventService.notifyEnding(event);
+    public void consumeSagaStepEvents(List<Event> payloads) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving {} saga step events to append to event history", payloads.size());
+        }
+        var events = payloads
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        eventService.appendHistory(events);
     }
 }
@@ -0,0 +1,46 @@
+package br.com.microservices.choreography.orderservice.core.consumers;
+
+import br.com.microservices.choreography.orderservice.core.utils.SagaHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class FailedRecordRouter {
+
+    private static final String ROUTED_COUNTER = "saga.consumer.routed";
+    private static final String TOPIC_TAG = "topic";
+    private static final String TIER_TAG = "tier";
+    private static final String DEAD_LETTER_TIER = "dlt";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String deadLetterTopicSuffix;
+
+    public FailedRecordRouter(KafkaTemplate<String, byte[]> kafkaTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${spring.kafka.retry.dead-letter-suffix}") String deadLetterTopicSuffix) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.deadLetterTopicSuffix = deadLetterTopicSuffix;
+    }
+
+    public void routeToDeadLetter(ConsumerRecord<String, byte[]> record, String reason) {
+        var deadLetterTopic = record.topic().concat(deadLetterTopicSuffix);
+        var headers = new RecordHeaders(record.headers().toArray());
+        SagaHeaders.write(headers, SagaHeaders.ORIGINAL_TOPIC, record.topic());
+        SagaHeaders.write(headers, SagaHeaders.ORIGINAL_PARTITION, record.partition());
+        SagaHeaders.write(headers, SagaHeaders.ORIGINAL_OFFSET, record.offset());
+        SagaHeaders.write(headers, SagaHeaders.EXCEPTION_MESSAGE, reason);
+        log.error("Routing record from topic {} partition {} offset {} to dead letter topic {}: {}",
+                record.topic(), record.partition(), record.offset(), deadLetterTopic, reason);
+        kafkaTemplate.send(new ProducerRecord<>(deadLetterTopic, null, record.key(), record.value(), headers)).join();
+        meterRegistry.counter(ROUTED_COUNTER, TOPIC_TAG, record.topic(), TIER_TAG, DEAD_LETTER_TIER).increment();
+    }
+}
@@ -2,11 +2,16 @@ package br.com.microservices.choreography.orderservice.core.controllers;
 
 import br.com.microservices.choreography.orderservice.core.documents.Event;
 import br.com.microservices.choreography.orderservice.core.dtos.EventFilters;
+import br.com.microservices.choreography.orderservice.core.dtos.EventPage;
 import br.com.microservices.choreography.orderservice.core.services.EventService;
+import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,14 +21,37 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final JsonUtil jsonUtil;
 
     @GetMapping
     public Event findByFilters(EventFilters eventFilters) {
         return eventService.findByFilters(eventFilters);
     }
 
-    @GetMapping("all")
-    public List<Event> findAll() {
-        return eventService.findAll();
+    @GetMapping(value = "all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody findAll() {
+        var events = eventService.streamAll(null);
+        return outputStream -> {
+            try (events) {
+                jsonUtil.writeArray(outputStream, events);
+            }
+        };
+    }
+
+    @GetMapping("page")
+    public EventPage findPage(@RequestParam(required = false) String cursor,
+                              @RequestParam(required = false) Integer size,
+                              @RequestParam(required = false) List<String> fields) {
+        return eventService.findPage(cursor, size, fields);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody stream(@RequestParam(required = false) List<String> fields) {
+        var events = eventService.streamAll(fields);
+        return outputStream -> {
+            try (events) {
+                jsonUtil.writeLines(outputStream, events);
+            }
+        };
     }
 }
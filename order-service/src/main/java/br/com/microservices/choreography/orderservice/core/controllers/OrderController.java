@@ -1,23 +1,56 @@
 package br.com.microservices.choreography.orderservice.core.controllers;
 
-import br.com.microservices.choreography.orderservice.core.documents.Order;
+import br.com.microservices.choreography.orderservice.core.documents.OrderStatus;
+import br.com.microservices.choreography.orderservice.core.dtos.OrderAcceptedResponse;
+import br.com.microservices.choreography.orderservice.core.dtos.OrderBatchItemResponse;
 import br.com.microservices.choreography.orderservice.core.dtos.OrderRequest;
 import br.com.microservices.choreography.orderservice.core.services.OrderService;
-import lombok.AllArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import br.com.microservices.choreography.orderservice.core.services.OrderStatusService;
+import br.com.microservices.choreography.orderservice.core.services.SagaEndingNotifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
 
 @RestController
-@AllArgsConstructor
+@RequiredArgsConstructor
 @RequestMapping("api/order")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusService orderStatusService;
+    private final SagaEndingNotifier sagaEndingNotifier;
 
     @PostMapping
-    public Order createOrder(@RequestBody OrderRequest orderRequest) {
-         return orderService.createOrder(orderRequest);
+    public ResponseEntity<OrderAcceptedResponse> createOrder(@RequestBody OrderRequest orderRequest) {
+        var order = orderService.createOrder(orderRequest);
+        var statusUri = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}/status")
+                .buildAndExpand(order.getId())
+                .toUri();
+        return ResponseEntity
+                .accepted()
+                .location(statusUri)
+                .body(new OrderAcceptedResponse(order.getId(), order.getTransactionId()));
+    }
+
+    @PostMapping("batch")
+    public ResponseEntity<List<OrderBatchItemResponse>> createOrders(@RequestBody List<OrderRequest> orderRequests) {
+        return ResponseEntity.accepted().body(orderService.createOrders(orderRequests));
+    }
+
+    @GetMapping("{id}/status")
+    public OrderStatus findStatus(@PathVariable String id) {
+        return orderStatusService.findByOrderId(id);
+    }
+
+    @GetMapping(value = "{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String id) {
+        return sagaEndingNotifier.subscribe(id);
     }
 }
@@ -0,0 +1,28 @@
+package br.com.microservices.choreography.orderservice.core.documents;
+
+import br.com.microservices.choreography.orderservice.core.enums.EOrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "order_status")
+public class OrderStatus {
+
+    @Id
+    private String id;
+
+    private String transactionId;
+
+    private EOrderStatus status;
+
+    private LocalDateTime updatedAt;
+}
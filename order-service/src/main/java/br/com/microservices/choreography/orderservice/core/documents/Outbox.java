@@ -0,0 +1,29 @@
+package br.com.microservices.choreography.orderservice.core.documents;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "outbox")
+public class Outbox {
+
+    @Id
+    private String id;
+
+    private Event event;
+
+    private LocalDateTime createdAt;
+
+    private String claimedBy;
+
+    private LocalDateTime claimedUntil;
+}
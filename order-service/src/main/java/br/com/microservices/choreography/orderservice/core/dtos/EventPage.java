@@ -0,0 +1,18 @@
+package br.com.microservices.choreography.orderservice.core.dtos;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPage {
+
+    private List<Event> content;
+
+    private String nextCursor;
+}
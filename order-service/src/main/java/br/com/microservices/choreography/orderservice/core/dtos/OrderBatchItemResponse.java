@@ -0,0 +1,23 @@
+package br.com.microservices.choreography.orderservice.core.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchItemResponse {
+
+    private int index;
+
+    private boolean accepted;
+
+    private String orderId;
+
+    private String transactionId;
+
+    private String message;
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.choreography.orderservice.core.enums;
+
+public enum EOrderStatus {
+
+    QUEUED,
+    STARTED,
+    SUCCESS,
+    FAIL
+}
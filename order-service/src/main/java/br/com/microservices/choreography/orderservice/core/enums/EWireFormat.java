@@ -0,0 +1,7 @@
+package br.com.microservices.choreography.orderservice.core.enums;
+
+public enum EWireFormat {
+
+    JSON,
+    BINARY
+}
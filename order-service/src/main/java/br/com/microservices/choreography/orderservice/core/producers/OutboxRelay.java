@@ -0,0 +1,169 @@
+package br.com.microservices.choreography.orderservice.core.producers;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.Order;
+import br.com.microservices.choreography.orderservice.core.documents.Outbox;
+import br.com.microservices.choreography.orderservice.core.repositories.OutboxRepository;
+import br.com.microservices.choreography.orderservice.core.services.OrderStatusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final String ID_FIELD = "_id";
+    private static final String CLAIMED_BY_FIELD = "claimedBy";
+    private static final String CLAIMED_UNTIL_FIELD = "claimedUntil";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final OutboxRepository outboxRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OrderStatusService orderStatusService;
+    private final SagaProducer sagaProducer;
+
+    @Value("${spring.kafka.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${spring.kafka.outbox.claim-lease-ms}")
+    private long claimLeaseMs;
+
+    @Scheduled(fixedDelayString = "${spring.kafka.outbox.relay-interval-ms}")
+    public void relay() {
+        try {
+            List<Outbox> batch;
+            var relayed = true;
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    relayed = relayBatch(batch);
+                }
+            } while (relayed && batch.size() == batchSize);
+        } catch (Exception ex) {
+            log.error("Error trying to relay outbox events, they will be retried on the next run: ", ex);
+        }
+    }
+
+    private List<Outbox> claimBatch() {
+        var now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        var claimedUntil = now.plus(claimLeaseMs, ChronoUnit.MILLIS);
+        var candidates = new Query(claimable(now))
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .limit(batchSize);
+        candidates.fields().include(ID_FIELD);
+        var ids = mongoTemplate
+                .find(candidates, Outbox.class)
+                .stream()
+                .map(Outbox::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(where(ID_FIELD).in(ids), claimable(now))),
+                new Update().set(CLAIMED_BY_FIELD, instanceId).set(CLAIMED_UNTIL_FIELD, claimedUntil),
+                Outbox.class
+        );
+        return mongoTemplate.find(
+                query(where(ID_FIELD).in(ids).and(CLAIMED_BY_FIELD).is(instanceId).and(CLAIMED_UNTIL_FIELD).is(claimedUntil))
+                        .with(Sort.by(Sort.Direction.ASC, ID_FIELD)),
+                Outbox.class
+        );
+    }
+
+    private Criteria claimable(LocalDateTime now) {
+        return new Criteria().orOperator(
+                where(CLAIMED_UNTIL_FIELD).is(null),
+                where(CLAIMED_UNTIL_FIELD).lt(now)
+        );
+    }
+
+    private void releaseClaims(List<String> ids) {
+        mongoTemplate.updateMulti(
+                query(where(ID_FIELD).in(ids).and(CLAIMED_BY_FIELD).is(instanceId)),
+                new Update().unset(CLAIMED_BY_FIELD).unset(CLAIMED_UNTIL_FIELD),
+                Outbox.class
+        );
+    }
+
+    private boolean relayBatch(List<Outbox> batch) {
+        var events = batch.stream().map(Outbox::getEvent).toList();
+        insertAllIfAbsent(events.stream().map(Event::getPayload).toList(), Order.class, Order::getId);
+        insertAllIfAbsent(events, Event.class, Event::getId);
+        orderStatusService.markStarted(events);
+        var sends = events
+                .stream()
+                .map(this::send)
+                .toList();
+        var relayed = 0;
+        var failed = new ArrayList<String>();
+        for (var i = 0; i < batch.size(); i++) {
+            try {
+                sends.get(i).join();
+                outboxRepository.deleteById(batch.get(i).getId());
+                relayed++;
+            } catch (CompletionException ex) {
+                log.error("Error trying to relay outbox event {}, it will be retried on the next run: ",
+                        batch.get(i).getId(), ex.getCause());
+                failed.add(batch.get(i).getId());
+            }
+        }
+        if (!failed.isEmpty()) {
+            releaseClaims(failed);
+        }
+        log.info("Relayed {} of {} events from outbox", relayed, batch.size());
+        return relayed == batch.size();
+    }
+
+    private CompletableFuture<?> send(Event event) {
+        try {
+            return sagaProducer.sendEvent(event, event.getOrderId());
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> void insertAllIfAbsent(List<T> documents, Class<T> type, Function<T, String> idExtractor) {
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        documents.forEach(document -> bulkOperations.upsert(
+                query(where("id").is(idExtractor.apply(document))),
+                setOnInsert(document)
+        ));
+        bulkOperations.execute();
+    }
+
+    private Update setOnInsert(Object document) {
+        var fields = new org.bson.Document();
+        mongoTemplate.getConverter().write(document, fields);
+        var update = new Update();
+        fields.forEach((field, value) -> {
+            if (!ID_FIELD.equals(field)) {
+                update.setOnInsert(field, value);
+            }
+        });
+        return update;
+    }
+}
@@ -1,27 +1,119 @@
 package br.com.microservices.choreography.orderservice.core.producers;
 
-import lombok.RequiredArgsConstructor;
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.utils.SagaLogging;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SagaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String SEND_TIMER = "saga.producer.send";
+    private static final String RETRY_COUNTER = "saga.producer.retries";
+    private static final String ERROR_COUNTER = "saga.producer.errors";
+    private static final String IN_FLIGHT_GAUGE = "saga.producer.in-flight";
+    private static final String TOPIC_TAG = "topic";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final long SATURATION_LOG_INTERVAL_SECONDS = 5;
+
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SagaLogging sagaLogging;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final String productValidationStartTopic;
 
-    @Value("${spring.kafka.topic.product-validation-start}")
-    private String productValidationStartTopic;
+    public SagaProducer(KafkaTemplate<String, Event> kafkaTemplate,
+                        MeterRegistry meterRegistry,
+                        SagaLogging sagaLogging,
+                        @Value("${spring.kafka.producer.max-in-flight}") int maxInFlight,
+                        @Value("${spring.kafka.producer.max-attempts}") int maxAttempts,
+                        @Value("${spring.kafka.producer.retry-backoff-ms}") long retryBackoffMs,
+                        @Value("${spring.kafka.topic.product-validation-start}") String productValidationStartTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sagaLogging = sagaLogging;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.productValidationStartTopic = productValidationStartTopic;
+        meterRegistry.gauge(IN_FLIGHT_GAUGE, inFlightPermits, permits -> maxInFlight - permits.availablePermits());
+    }
 
-    public void sendEvent(String payload) {
+    public CompletableFuture<SendResult<String, Event>> sendEvent(Event event, String key) {
+        acquirePermit();
+        if (sagaLogging.isEnabled()) {
+            log.info("Sending event to topic {} with data {}", productValidationStartTopic, sagaLogging.payload(event));
+        }
+        var result = new CompletableFuture<SendResult<String, Event>>();
+        send(event, key, result, 1);
+        return result;
+    }
+
+    private void acquirePermit() {
         try {
-            log.info("Sending event to topic {} with data {}", productValidationStartTopic, payload);
-            kafkaTemplate.send(productValidationStartTopic, payload);
+            while (!inFlightPermits.tryAcquire(SATURATION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Send pipeline saturated with {} in-flight events, waiting to send to topic {}",
+                        maxInFlight, productValidationStartTopic);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to send to topic ".concat(productValidationStartTopic), ex);
+        }
+    }
+
+    private void send(Event event, String key, CompletableFuture<SendResult<String, Event>> result, int attempt) {
+        var sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, Event>> future;
+        try {
+            future = kafkaTemplate.send(productValidationStartTopic, key, event);
         } catch (Exception ex) {
-             log.error("Error trying to send data to topic {} with data {}", productValidationStartTopic, payload, ex);
+            future = CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((sendResult, ex) -> {
+            sample.stop(meterRegistry.timer(SEND_TIMER,
+                    TOPIC_TAG, productValidationStartTopic, OUTCOME_TAG, ex == null ? "success" : "failure"));
+            if (ex == null) {
+                inFlightPermits.release();
+                result.complete(sendResult);
+            } else {
+                handleFailure(event, key, result, attempt, ex);
+            }
+        });
+    }
+
+    private void handleFailure(Event event,
+                               String key,
+                               CompletableFuture<SendResult<String, Event>> result,
+                               int attempt,
+                               Throwable ex) {
+        meterRegistry.counter(ERROR_COUNTER, TOPIC_TAG, productValidationStartTopic).increment();
+        if (attempt < maxAttempts) {
+            log.warn("Error trying to send data to topic {}, retrying attempt {} of {}: {}",
+                    productValidationStartTopic, attempt + 1, maxAttempts, ex.getMessage());
+            meterRegistry.counter(RETRY_COUNTER, TOPIC_TAG, productValidationStartTopic).increment();
+            CompletableFuture.runAsync(
+                    () -> send(event, key, result, attempt + 1),
+                    CompletableFuture.delayedExecutor(retryBackoffMs * attempt, TimeUnit.MILLISECONDS)
+            );
+            return;
         }
+        log.error("Error trying to send data to topic {} for order {} and transaction {}",
+                productValidationStartTopic, event.getOrderId(), event.getTransactionId(), ex);
+        inFlightPermits.release();
+        result.completeExceptionally(ex);
     }
 }
@@ -0,0 +1,9 @@
+package br.com.microservices.choreography.orderservice.core.repositories;
+
+import br.com.microservices.choreography.orderservice.core.documents.OrderStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderStatusRepository extends MongoRepository<OrderStatus, String> {
+}
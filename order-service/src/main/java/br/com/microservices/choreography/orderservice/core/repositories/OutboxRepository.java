@@ -0,0 +1,9 @@
+package br.com.microservices.choreography.orderservice.core.repositories;
+
+import br.com.microservices.choreography.orderservice.core.documents.Outbox;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRepository extends MongoRepository<Outbox, String> {
+}
@@ -1,48 +1,145 @@
 package br.com.microservices.choreography.orderservice.core.services;
 
+import br.com.microservices.choreography.orderservice.core.caches.SagaResultCache;
 import br.com.microservices.choreography.orderservice.core.documents.Event;
 import br.com.microservices.choreography.orderservice.core.documents.History;
 import br.com.microservices.choreography.orderservice.core.documents.Order;
 import br.com.microservices.choreography.orderservice.core.repositories.EventRepository;
 import br.com.microservices.choreography.orderservice.configs.exceptions.ValidationException;
 import br.com.microservices.choreography.orderservice.core.dtos.EventFilters;
-import lombok.AllArgsConstructor;
+import br.com.microservices.choreography.orderservice.core.dtos.EventPage;
+import br.com.microservices.choreography.orderservice.core.utils.SagaLogging;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static br.com.microservices.choreography.orderservice.core.enums.ESagaStatus.SUCCESS;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 import static org.springframework.util.ObjectUtils.isEmpty;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class EventService {
 
     private static final String CURRENT_SERVICE = "ORDER_SERVICE";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final Set<String> PROJECTABLE_FIELDS =
+            Set.of("transactionId", "orderId", "payload", "source", "status", "eventHistory", "createdAt");
+
     private final EventRepository eventRepository;
+    private final OrderStatusService orderStatusService;
+    private final MongoTemplate mongoTemplate;
+    private final SagaResultCache sagaResultCache;
+    private final SagaEndingNotifier sagaEndingNotifier;
+    private final SagaLogging sagaLogging;
+
+    @Value("${spring.kafka.event-history.delta-enabled}")
+    private boolean deltaHistoryEnabled;
 
     public void notifyEnding(Event event) {
+        prepareEnding(event);
+        mongoTemplate.upsert(findSagaQuery(event), createSagaUpdate(event), Event.class);
+        if (deltaHistoryEnabled) {
+            appendHistory(List.of(event));
+        }
+        orderStatusService.markFinished(event);
+        publishEnding(event);
+    }
+
+    public void notifyEnding(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        events.forEach(event -> {
+            prepareEnding(event);
+            bulkOperations.upsert(findSagaQuery(event), createSagaUpdate(event));
+        });
+        bulkOperations.execute();
+        if (deltaHistoryEnabled) {
+            appendHistory(events);
+        }
+        orderStatusService.markFinished(events);
+        events.forEach(this::publishEnding);
+    }
+
+    public void appendHistory(List<Event> events) {
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Event.class);
+        var pending = 0;
+        for (var event : events) {
+            if (isEmpty(event.getEventHistory())) {
+                continue;
+            }
+            for (var history : event.getEventHistory()) {
+                bulkOperations.updateOne(findMissingHistoryQuery(event, history), createHistoryUpdate(history));
+                pending++;
+            }
+        }
+        if (pending > 0) {
+            bulkOperations.execute();
+        }
+    }
+
+    private void prepareEnding(Event event) {
+        event.setId(event.getTransactionId());
         event.setSource(CURRENT_SERVICE);
         event.setOrderId(event.getOrderId());
-        event.setCreatedAt(LocalDateTime.now());
         setEndingHistory(event);
-        save(event);
-        log.info("Order {} with saga notified! TransactionId: {}", event.getOrderId(), event.getTransactionId());
     }
 
-    private void setEndingHistory(Event event) {
-        if (SUCCESS.equals(event.getStatus())) {
-            log.info("#### SAGA FINISHED SUCCESSFULLY FOR EVENT {}", event.getId());
-            addHistory(event, "Saga finished successfully!");
+    private void publishEnding(Event event) {
+        if (deltaHistoryEnabled) {
+            sagaEndingNotifier.publish(withoutHistory(event));
         } else {
-            log.info("#### SAGA FINISHED WITH ERRORS FOR EVENT {}", event.getId());
-            addHistory(event, "Saga finished with errors!");
+            sagaResultCache.put(event);
+            sagaEndingNotifier.publish(event);
+        }
+        if (sagaLogging.isEnabled()) {
+            log.info("Order {} with saga notified! TransactionId: {}", event.getOrderId(), event.getTransactionId());
         }
     }
 
+    private Event withoutHistory(Event event) {
+        return Event
+                .builder()
+                .id(event.getId())
+                .transactionId(event.getTransactionId())
+                .orderId(event.getOrderId())
+                .payload(event.getPayload())
+                .source(event.getSource())
+                .status(event.getStatus())
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+
+    private void setEndingHistory(Event event) {
+        var success = SUCCESS.equals(event.getStatus());
+        if (sagaLogging.isEnabled()) {
+            log.info(success ? "#### SAGA FINISHED SUCCESSFULLY FOR EVENT {}" : "#### SAGA FINISHED WITH ERRORS FOR EVENT {}",
+                    event.getId());
+        }
+        addHistory(event, success ? "Saga finished successfully!" : "Saga finished with errors!");
+    }
+
     public Event findByFilters(EventFilters eventFilters) {
         validateEmptyFilters(eventFilters);
         if (isEmpty(eventFilters.getOrderId())) {
@@ -52,16 +149,34 @@ public class EventService {
         }
     }
 
-    public List<Event> findAll() {
-        return eventRepository.findAllByOrderByCreatedAtDesc();
+    public EventPage findPage(String cursor, Integer size, List<String> fields) {
+        var pageSize = resolvePageSize(size);
+        var query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(pageSize + 1);
+        if (!isEmpty(cursor)) {
+            query.addCriteria(afterCursor(decodeCursor(cursor)));
+        }
+        includeFields(query, fields);
+        var events = mongoTemplate.find(query, Event.class);
+        if (events.size() <= pageSize) {
+            return new EventPage(events, null);
+        }
+        var content = events.subList(0, pageSize);
+        return new EventPage(content, encodeCursor(content.get(pageSize - 1)));
     }
 
-    public Event save(Event event) {
-        return eventRepository.save(event);
+    public Stream<Event> streamAll(List<String> fields) {
+        var query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        includeFields(query, fields);
+        return mongoTemplate.stream(query, Event.class);
     }
 
     public Event createEvent(Order order) {
         var event = Event.builder()
+                .id(order.getTransactionId())
                 .source(CURRENT_SERVICE)
                 .status(SUCCESS)
                 .orderId(order.getId())
@@ -70,19 +185,101 @@ public class EventService {
                 .createdAt(LocalDateTime.now())
                 .build();
         addHistory(event, "Saga Started!");
-        return save(event);
+        return event;
     }
 
     private Event findByOrderId(String orderId) {
-        return eventRepository.findTop1ByOrderIdOrderByCreatedAtDesc(orderId)
+        return sagaResultCache.findByOrderId(orderId)
+                .or(() -> eventRepository.findTop1ByOrderIdOrderByCreatedAtDesc(orderId))
                 .orElseThrow(() -> new ValidationException("Event not found by OrderID."));
     }
 
     private Event findByTransactionId(String transactionId) {
-        return eventRepository.findTop1ByTransactionIdOrderByCreatedAtDesc(transactionId)
+        return sagaResultCache.findByTransactionId(transactionId)
+                .or(() -> eventRepository.findById(transactionId))
                 .orElseThrow(() -> new ValidationException("Event not found by TransactionID."));
     }
 
+    private Query findSagaQuery(Event event) {
+        return query(where("id").is(event.getTransactionId()));
+    }
+
+    private Update createSagaUpdate(Event event) {
+        var update = new Update()
+                .set("transactionId", event.getTransactionId())
+                .set("orderId", event.getOrderId())
+                .set("payload", event.getPayload())
+                .set("source", event.getSource())
+                .set("status", event.getStatus())
+                .setOnInsert("createdAt", event.getCreatedAt());
+        if (!deltaHistoryEnabled) {
+            update.set("eventHistory", event.getEventHistory());
+        }
+        return update;
+    }
+
+    private Query findMissingHistoryQuery(Event event, History history) {
+        return query(where("id").is(event.getTransactionId())
+                .and("eventHistory").not().elemMatch(where("source").is(history.getSource())
+                        .and("status").is(history.getStatus())
+                        .and("message").is(history.getMessage())));
+    }
+
+    private Update createHistoryUpdate(History history) {
+        return new Update()
+                .push("eventHistory")
+                .sort(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .each(history);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (isEmpty(size)) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and ".concat(String.valueOf(MAX_PAGE_SIZE)));
+        }
+        return size;
+    }
+
+    private void includeFields(Query query, List<String> fields) {
+        if (isEmpty(fields)) {
+            return;
+        }
+        fields.forEach(field -> {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new ValidationException("Field ".concat(field).concat(" can not be projected."));
+            }
+            query.fields().include(field);
+        });
+        query.fields().include("createdAt");
+    }
+
+    private Criteria afterCursor(EventCursor cursor) {
+        return new Criteria().orOperator(
+                where("createdAt").lt(cursor.createdAt()),
+                where("createdAt").is(cursor.createdAt()).and("id").lt(cursor.id())
+        );
+    }
+
+    private String encodeCursor(Event event) {
+        var value = event.getCreatedAt().toString().concat(CURSOR_SEPARATOR).concat(event.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private EventCursor decodeCursor(String cursor) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = value.indexOf(CURSOR_SEPARATOR);
+            return new EventCursor(
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    value.substring(separatorIndex + 1)
+            );
+        } catch (Exception ex) {
+            throw new ValidationException("Invalid cursor informed.");
+        }
+    }
+
     private void validateEmptyFilters(EventFilters eventFilters) {
         if (isEmpty(eventFilters.getOrderId()) && isEmpty(eventFilters.getTransactionId())) {
             throw new ValidationException("OrderID or TransactionID must be informed");
@@ -99,4 +296,7 @@ public class EventService {
                 .build();
         event.addToHistory(history);
     }
+
+    private record EventCursor(LocalDateTime createdAt, String id) {
+    }
 }
@@ -1,39 +1,104 @@
 package br.com.microservices.choreography.orderservice.core.services;
 
-import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.configs.exceptions.ValidationException;
 import br.com.microservices.choreography.orderservice.core.documents.Order;
-import br.com.microservices.choreography.orderservice.core.producers.SagaProducer;
-import br.com.microservices.choreography.orderservice.core.repositories.OrderRepository;
+import br.com.microservices.choreography.orderservice.core.documents.Outbox;
+import br.com.microservices.choreography.orderservice.core.dtos.OrderBatchItemResponse;
 import br.com.microservices.choreography.orderservice.core.dtos.OrderRequest;
-import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import br.com.microservices.choreography.orderservice.core.repositories.OutboxRepository;
+import br.com.microservices.choreography.orderservice.core.utils.TransactionIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class OrderService {
 
     private final EventService eventService;
-    private final SagaProducer sagaProducer;
-    private static final String TRANSACTION_ID_PATTERN = "%s_%s";
-    private final JsonUtil jsonUtil;
-    private final OrderRepository orderRepository;
+    private final OutboxRepository outboxRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+
+    @Value("${order.intake.max-batch-size}")
+    private int maxBatchSize;
 
     public Order createOrder(OrderRequest orderRequest) {
-        var order = Order
+        var order = buildOrder(orderRequest);
+        outboxRepository.insert(createOutbox(order));
+        return order;
+    }
+
+    public List<OrderBatchItemResponse> createOrders(List<OrderRequest> orderRequests) {
+        validateBatch(orderRequests);
+        var outboxes = new ArrayList<Outbox>(orderRequests.size());
+        var results = new ArrayList<OrderBatchItemResponse>(orderRequests.size());
+        for (int index = 0; index < orderRequests.size(); index++) {
+            var orderRequest = orderRequests.get(index);
+            if (isEmpty(orderRequest) || isEmpty(orderRequest.getProducts())) {
+                results.add(rejected(index, "Product list is empty!"));
+                continue;
+            }
+            var order = buildOrder(orderRequest);
+            outboxes.add(createOutbox(order));
+            results.add(accepted(index, order));
+        }
+        if (!outboxes.isEmpty()) {
+            outboxRepository.insert(outboxes);
+        }
+        return results;
+    }
+
+    private void validateBatch(List<OrderRequest> orderRequests) {
+        if (isEmpty(orderRequests)) {
+            throw new ValidationException("At least one order must be informed!");
+        }
+        if (orderRequests.size() > maxBatchSize) {
+            throw new ValidationException("The maximum batch size is ".concat(String.valueOf(maxBatchSize)));
+        }
+    }
+
+    private Order buildOrder(OrderRequest orderRequest) {
+        return Order
                 .builder()
+                .id(new ObjectId().toHexString())
                 .products(orderRequest.getProducts())
                 .createdAt(LocalDateTime.now())
-                .transactionId(
-                        String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID())
-                )
+                .transactionId(transactionIdGenerator.generate())
+                .build();
+    }
+
+    private Outbox createOutbox(Order order) {
+        return Outbox
+                .builder()
+                .id(order.getId())
+                .event(eventService.createEvent(order))
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    private OrderBatchItemResponse accepted(int index, Order order) {
+        return OrderBatchItemResponse
+                .builder()
+                .index(index)
+                .accepted(true)
+                .orderId(order.getId())
+                .transactionId(order.getTransactionId())
+                .build();
+    }
+
+    private OrderBatchItemResponse rejected(int index, String message) {
+        return OrderBatchItemResponse
+                .builder()
+                .index(index)
+                .accepted(false)
+                .message(message)
                 .build();
-        orderRepository.save(order);
-        sagaProducer.sendEvent(jsonUtil.toJson(eventService.createEvent(order)));
-        return order;
     }
 }
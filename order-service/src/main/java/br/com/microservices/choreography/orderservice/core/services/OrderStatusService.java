@@ -0,0 +1,78 @@
+package br.com.microservices.choreography.orderservice.core.services;
+
+import br.com.microservices.choreography.orderservice.configs.exceptions.ValidationException;
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.OrderStatus;
+import br.com.microservices.choreography.orderservice.core.enums.EOrderStatus;
+import br.com.microservices.choreography.orderservice.core.repositories.OrderStatusRepository;
+import br.com.microservices.choreography.orderservice.core.repositories.OutboxRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static br.com.microservices.choreography.orderservice.core.enums.ESagaStatus.SUCCESS;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@AllArgsConstructor
+public class OrderStatusService {
+
+    private final OrderStatusRepository orderStatusRepository;
+    private final OutboxRepository outboxRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public OrderStatus findByOrderId(String orderId) {
+        return orderStatusRepository.findById(orderId)
+                .or(() -> findQueued(orderId))
+                .orElseThrow(() -> new ValidationException("Order not found by OrderID."));
+    }
+
+    public void markStarted(List<Event> events) {
+        var now = LocalDateTime.now();
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderStatus.class);
+        events.forEach(event -> bulkOperations.upsert(
+                query(where("id").is(event.getOrderId())),
+                new Update()
+                        .setOnInsert("transactionId", event.getTransactionId())
+                        .setOnInsert("status", EOrderStatus.STARTED)
+                        .setOnInsert("updatedAt", now)
+        ));
+        bulkOperations.execute();
+    }
+
+    public void markFinished(Event event) {
+        mongoTemplate.upsert(query(where("id").is(event.getOrderId())), createFinishedUpdate(event), OrderStatus.class);
+    }
+
+    public void markFinished(List<Event> events) {
+        var bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderStatus.class);
+        events.forEach(event ->
+                bulkOperations.upsert(query(where("id").is(event.getOrderId())), createFinishedUpdate(event)));
+        bulkOperations.execute();
+    }
+
+    private Update createFinishedUpdate(Event event) {
+        return new Update()
+                .set("transactionId", event.getTransactionId())
+                .set("status", SUCCESS.equals(event.getStatus()) ? EOrderStatus.SUCCESS : EOrderStatus.FAIL)
+                .set("updatedAt", LocalDateTime.now());
+    }
+
+    private Optional<OrderStatus> findQueued(String orderId) {
+        if (!outboxRepository.existsById(orderId)) {
+            return Optional.empty();
+        }
+        return Optional.of(OrderStatus
+                .builder()
+                .id(orderId)
+                .status(EOrderStatus.QUEUED)
+                .build());
+    }
+}
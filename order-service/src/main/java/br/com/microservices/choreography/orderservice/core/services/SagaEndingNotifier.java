@@ -0,0 +1,89 @@
+package br.com.microservices.choreography.orderservice.core.services;
+
+import br.com.microservices.choreography.orderservice.core.caches.SagaResultCache;
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.enums.EOrderStatus;
+import br.com.microservices.choreography.orderservice.core.repositories.EventRepository;
+import br.com.microservices.choreography.orderservice.core.repositories.OrderStatusRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SagaEndingNotifier {
+
+    private static final String SAGA_ENDING_EVENT = "saga-ending";
+    private static final Set<EOrderStatus> FINISHED_STATUSES = Set.of(EOrderStatus.SUCCESS, EOrderStatus.FAIL);
+
+    private final Map<String, Queue<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private final SagaResultCache sagaResultCache;
+    private final OrderStatusRepository orderStatusRepository;
+    private final EventRepository eventRepository;
+
+    @Value("${order.saga-events.timeout}")
+    private Duration timeout;
+
+    public SseEmitter subscribe(String orderId) {
+        var emitter = new SseEmitter(timeout.toMillis());
+        subscribers.compute(orderId, (key, emitters) -> {
+            var current = emitters == null ? new ConcurrentLinkedQueue<SseEmitter>() : emitters;
+            current.add(emitter);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(ex -> unsubscribe(orderId, emitter));
+        findFinished(orderId).ifPresent(this::publish);
+        return emitter;
+    }
+
+    public void publish(Event event) {
+        var emitters = subscribers.remove(event.getOrderId());
+        if (emitters == null) {
+            return;
+        }
+        emitters.forEach(emitter -> send(emitter, event));
+    }
+
+    private void unsubscribe(String orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private Optional<Event> findFinished(String orderId) {
+        return sagaResultCache.findByOrderId(orderId)
+                .or(() -> orderStatusRepository.findById(orderId)
+                        .filter(orderStatus -> FINISHED_STATUSES.contains(orderStatus.getStatus()))
+                        .flatMap(orderStatus -> eventRepository.findById(orderStatus.getTransactionId())));
+    }
+
+    private void send(SseEmitter emitter, Event event) {
+        try {
+            emitter.send(SseEmitter
+                    .event()
+                    .name(SAGA_ENDING_EVENT)
+                    .id(event.getTransactionId())
+                    .data(event, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception ex) {
+            log.warn("Error trying to push saga ending for order {} to subscriber", event.getOrderId(), ex);
+            emitter.completeWithError(ex);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package br.com.microservices.choreography.orderservice.core.utils;
 
-import br.com.microservices.choreography.orderservice.core.documents.Event;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
 @Component
 @AllArgsConstructor
 public class JsonUtil {
@@ -19,11 +22,23 @@ public class JsonUtil {
         }
     }
 
-    public Event toEvent(String json) {
-        try {
-            return objectMapper.readValue(json, Event.class);
-        } catch (Exception ex) {
-            return null;
+    public void writeArray(OutputStream outputStream, Stream<?> values) throws IOException {
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (var iterator = values.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public void writeLines(OutputStream outputStream, Stream<?> values) throws IOException {
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            for (var iterator = values.iterator(); iterator.hasNext(); ) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+            }
         }
     }
 }
@@ -0,0 +1,35 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+public final class SagaHeaders {
+
+    public static final String ORDER_ID = "saga-order-id";
+    public static final String TRANSACTION_ID = "saga-transaction-id";
+    public static final String STATUS = "saga-status";
+    public static final String SOURCE = "saga-source";
+    public static final String ORIGINAL_TOPIC = "saga-original-topic";
+    public static final String ORIGINAL_PARTITION = "saga-original-partition";
+    public static final String ORIGINAL_OFFSET = "saga-original-offset";
+    public static final String EXCEPTION_MESSAGE = "saga-exception-message";
+
+    private SagaHeaders() {
+    }
+
+    public static void writeRouting(Headers headers, Event event) {
+        write(headers, ORDER_ID, event.getOrderId());
+        write(headers, TRANSACTION_ID, event.getTransactionId());
+        write(headers, STATUS, event.getStatus());
+        write(headers, SOURCE, event.getSource());
+    }
+
+    public static void write(Headers headers, String name, Object value) {
+        headers.remove(name);
+        if (value != null) {
+            headers.add(name, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Component
+@ConditionalOnProperty(name = "order.transaction-id.generator", havingValue = "snowflake", matchIfMissing = true)
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final Pattern POD_ORDINAL = Pattern.compile(".+-(\\d+)");
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final AtomicLong lastState = new AtomicLong();
+    private final long nodeId;
+
+    public SnowflakeTransactionIdGenerator(@Value("${order.transaction-id.node-id}") String nodeId,
+                                           @Value("${HOSTNAME:}") String hostname) {
+        this.nodeId = resolveNodeId(nodeId, hostname);
+        if (this.nodeId < 0 || this.nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Transaction ID node id must be between 0 and " + MAX_NODE_ID);
+        }
+    }
+
+    @Override
+    public String generate() {
+        return encode(nextId());
+    }
+
+    public long nextId() {
+        long current;
+        long next;
+        do {
+            current = lastState.get();
+            var lastTimestamp = current >>> SEQUENCE_BITS;
+            var timestamp = Math.max(System.currentTimeMillis() - EPOCH, lastTimestamp);
+            var sequence = timestamp == lastTimestamp ? (current & SEQUENCE_MASK) + 1 : 0;
+            if (sequence > SEQUENCE_MASK) {
+                timestamp = lastTimestamp + 1;
+                sequence = 0;
+            }
+            next = (timestamp << SEQUENCE_BITS) | sequence;
+        } while (!lastState.compareAndSet(current, next));
+        var timestamp = next >>> SEQUENCE_BITS;
+        var sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long resolveNodeId(String nodeId, String hostname) {
+        if (!ObjectUtils.isEmpty(nodeId)) {
+            return Long.parseLong(nodeId.trim());
+        }
+        var ordinal = POD_ORDINAL.matcher(hostname);
+        if (ordinal.matches()) {
+            return Long.parseLong(ordinal.group(1));
+        }
+        throw new IllegalStateException("Transaction ID node id is not set and could not be derived from hostname '"
+                + hostname + "'. Set NODE_ID to a value unique per order-service instance.");
+    }
+
+    private String encode(long id) {
+        var chars = new char[ENCODED_LENGTH];
+        for (int index = ENCODED_LENGTH - 1; index >= 0; index--) {
+            chars[index] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
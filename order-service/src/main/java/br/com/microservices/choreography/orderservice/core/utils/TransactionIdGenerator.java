@@ -0,0 +1,6 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+public interface TransactionIdGenerator {
+
+    String generate();
+}
@@ -0,0 +1,175 @@
+package br.com.microservices.choreography.orderservice.configs.mongo;
+
+import br.com.microservices.choreography.orderservice.core.caches.SagaResultCache;
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.Order;
+import br.com.microservices.choreography.orderservice.core.dtos.EventFilters;
+import br.com.microservices.choreography.orderservice.core.repositories.EventRepository;
+import br.com.microservices.choreography.orderservice.core.services.EventService;
+import br.com.microservices.choreography.orderservice.core.services.OrderStatusService;
+import br.com.microservices.choreography.orderservice.core.services.SagaEndingNotifier;
+import br.com.microservices.choreography.orderservice.core.utils.SagaLogging;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@Testcontainers
+class MongoIndexConfigTest {
+
+    private static final int DOCUMENT_COUNT = 200;
+    private static final int PAGE_SIZE = 10;
+    private static final String DATABASE = "order-db";
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final List<String> FIND_COMMAND_FIELDS =
+            List.of("find", "filter", "sort", "projection", "limit", "batchSize", "singleBatch");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+    private static MongoTemplate mongoTemplate;
+    private static EventService eventService;
+
+    @BeforeAll
+    static void setUp() {
+        mongoTemplate = new MongoTemplate(MongoClients.create(MONGO.getReplicaSetUrl()), DATABASE);
+        new MongoIndexConfig(mongoTemplate).ensureIndexes();
+        for (var i = 0; i < DOCUMENT_COUNT; i++) {
+            var transactionId = "transaction-" + i;
+            var order = Order
+                    .builder()
+                    .id("order-" + i)
+                    .transactionId(transactionId)
+                    .createdAt(START.plusSeconds(i))
+                    .build();
+            mongoTemplate.insert(order);
+            mongoTemplate.insert(Event
+                    .builder()
+                    .id(transactionId)
+                    .transactionId(transactionId)
+                    .orderId(order.getId())
+                    .payload(order)
+                    .createdAt(START.plusSeconds(i))
+                    .build());
+        }
+        eventService = new EventService(
+                new MongoRepositoryFactory(mongoTemplate).getRepository(EventRepository.class),
+                mock(OrderStatusService.class),
+                mongoTemplate,
+                mock(SagaResultCache.class),
+                mock(SagaEndingNotifier.class),
+                mock(SagaLogging.class)
+        );
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+    }
+
+    @Test
+    void latestEventByOrderUsesOrderIdCreatedAtIndex() {
+        eventService.findByFilters(new EventFilters("order-10", null));
+
+        assertIndexScan(explainLastEventQuery(), "order_id_created_at");
+    }
+
+    @Test
+    void firstEventPageUsesCreatedAtIdIndex() {
+        eventService.findPage(null, PAGE_SIZE, null);
+
+        assertIndexScan(explainLastEventQuery(), "created_at_id");
+    }
+
+    @Test
+    void keysetEventPageUsesCreatedAtIdIndex() {
+        var firstPage = eventService.findPage(null, PAGE_SIZE, null);
+        eventService.findPage(firstPage.getNextCursor(), PAGE_SIZE, List.of("status"));
+
+        assertIndexScan(explainLastEventQuery(), "created_at_id");
+    }
+
+    @Test
+    void eventStreamUsesCreatedAtIdIndex() {
+        try (var events = eventService.streamAll(null)) {
+            assertThat(events.findFirst()).isPresent();
+        }
+
+        assertIndexScan(explainLastEventQuery(), "created_at_id");
+    }
+
+    @Test
+    void eventByTransactionIdIsAnIdPointRead() {
+        eventService.findByFilters(new EventFilters(null, "transaction-10"));
+
+        assertThat(stages(explainLastEventQuery())).doesNotContain("COLLSCAN", "SORT");
+    }
+
+    @Test
+    void orderTransactionIdIsUnique() {
+        var duplicate = Order
+                .builder()
+                .id("order-duplicate")
+                .transactionId("transaction-10")
+                .createdAt(START)
+                .build();
+
+        assertThatThrownBy(() -> mongoTemplate.insert(duplicate)).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    // Re-explains the exact find command the service sent, as recorded by the database profiler.
+    private Document explainLastEventQuery() {
+        var profiled = mongoTemplate.getDb()
+                .getCollection("system.profile")
+                .find(new Document("ns", DATABASE + ".event").append("op", "query"))
+                .sort(new Document("ts", -1))
+                .first();
+        assertThat(profiled).isNotNull();
+        var recorded = profiled.get("command", Document.class);
+        var command = new Document();
+        FIND_COMMAND_FIELDS.stream()
+                .filter(recorded::containsKey)
+                .forEach(field -> command.append(field, recorded.get(field)));
+        var explain = mongoTemplate.getDb().runCommand(new Document("explain", command)
+                .append("verbosity", "queryPlanner"));
+        return explain.get("queryPlanner", Document.class);
+    }
+
+    private void assertIndexScan(Document plan, String indexName) {
+        assertThat(stages(plan)).contains("IXSCAN").doesNotContain("COLLSCAN", "SORT");
+        assertThat(indexNames(plan)).contains(indexName);
+    }
+
+    private List<String> stages(Document plan) {
+        var stages = new ArrayList<String>();
+        collect(plan.get("winningPlan"), "stage", stages);
+        return stages;
+    }
+
+    private List<String> indexNames(Document plan) {
+        var indexNames = new ArrayList<String>();
+        collect(plan.get("winningPlan"), "indexName", indexNames);
+        return indexNames;
+    }
+
+    private void collect(Object node, String field, List<String> values) {
+        if (node instanceof Document document) {
+            if (document.get(field) instanceof String value) {
+                values.add(value);
+            }
+            document.values().forEach(child -> collect(child, field, values));
+        } else if (node instanceof List<?> list) {
+            list.forEach(child -> collect(child, field, values));
+        }
+    }
+}
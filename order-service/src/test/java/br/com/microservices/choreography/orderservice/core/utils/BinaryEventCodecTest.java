@@ -0,0 +1,78 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import br.com.microservices.choreography.orderservice.core.documents.Event;
+import br.com.microservices.choreography.orderservice.core.documents.History;
+import br.com.microservices.choreography.orderservice.core.documents.Order;
+import br.com.microservices.choreography.orderservice.core.documents.OrderProducts;
+import br.com.microservices.choreography.orderservice.core.documents.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static br.com.microservices.choreography.orderservice.core.enums.ESagaStatus.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 30, 15, 123456789);
+
+    private final BinaryEventCodec binaryEventCodec = new BinaryEventCodec();
+    private final JsonEventCodec jsonEventCodec = new JsonEventCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1000})
+    void binaryEventRoundTripsAndIsSmallerThanJson(int productCount) throws IOException {
+        var event = createEvent(productCount);
+
+        var binary = binaryEventCodec.encode(event);
+
+        assertThat(binaryEventCodec.decode(binary)).isEqualTo(event);
+        assertThat(binary.length).isLessThan(jsonEventCodec.encode(event).length);
+    }
+
+    @Test
+    void lengthLargerThanRemainingInputIsRejected() {
+        var data = new byte[]{BinaryEventCodec.VERSION_1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+        assertThatThrownBy(() -> binaryEventCodec.decode(data)).isInstanceOf(IOException.class);
+    }
+
+    private Event createEvent(int productCount) {
+        var products = new ArrayList<OrderProducts>(productCount);
+        for (var i = 0; i < productCount; i++) {
+            products.add(new OrderProducts(new Product("PRODUCT_" + i, 10.5 + i), 1 + i % 5));
+        }
+        var order = Order
+                .builder()
+                .id("order-" + productCount)
+                .transactionId("transaction-" + productCount)
+                .products(products)
+                .createdAt(CREATED_AT)
+                .totalItems(products.stream().mapToInt(OrderProducts::getQuantity).sum())
+                .build();
+        var event = Event
+                .builder()
+                .id(order.getTransactionId())
+                .transactionId(order.getTransactionId())
+                .orderId(order.getId())
+                .payload(order)
+                .source("INVENTORY_SERVICE")
+                .status(SUCCESS)
+                .createdAt(CREATED_AT)
+                .build();
+        event.addToHistory(History
+                .builder()
+                .source("ORDER_SERVICE")
+                .status(SUCCESS)
+                .message("Saga Started!")
+                .createdAt(CREATED_AT)
+                .build());
+        return event;
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.microservices.choreography.paymentservice.core.consumers;
+
+import br.com.microservices.choreography.paymentservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.paymentservice.core.utils.SagaLogging;
+import br.com.microservices.choreography.paymentservice.core.utils.SagaHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class KeyOrderedDispatcher implements DisposableBean {
+
+    private static final String WORKER_THREAD_PREFIX = "saga-worker-";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Map<String, CompletableFuture<Void>> pendingByKey = new ConcurrentHashMap<>();
+    private final Queue<ParkedRecord> parkedRecords = new ConcurrentLinkedQueue<>();
+    private final FailedRecordRouter failedRecordRouter;
+    private final SagaLogging sagaLogging;
+    private final boolean parallelEnabled;
+    private final int routeAttempts;
+    private final long routeBackoffMs;
+    private final ExecutorService executor;
+
+    public KeyOrderedDispatcher(FailedRecordRouter failedRecordRouter,
+                                SagaLogging sagaLogging,
+                                @Value("${spring.kafka.consumer.parallel.enabled}") boolean parallelEnabled,
+                                @Value("${spring.kafka.consumer.parallel.workers}") int workers,
+                                @Value("${spring.kafka.transactional.enabled}") boolean transactionalEnabled,
+                                @Value("${spring.kafka.retry.route-attempts}") int routeAttempts,
+                                @Value("${spring.kafka.retry.route-backoff-ms}") long routeBackoffMs) {
+        if (parallelEnabled && transactionalEnabled) {
+            log.warn("Parallel consumption is disabled because transactional mode processes records inline");
+        }
+        this.failedRecordRouter = failedRecordRouter;
+        this.sagaLogging = sagaLogging;
+        this.parallelEnabled = parallelEnabled && !transactionalEnabled;
+        this.routeAttempts = routeAttempts;
+        this.routeBackoffMs = routeBackoffMs;
+        this.executor = this.parallelEnabled
+                ? Executors.newFixedThreadPool(workers, new CustomizableThreadFactory(WORKER_THREAD_PREFIX))
+                : null;
+    }
+
+    public void dispatch(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment, Runnable handler) {
+        if (!parallelEnabled) {
+            process(record, acknowledgment, handler, false);
+            return;
+        }
+        var key = resolveKey(record);
+        var next = pendingByKey.compute(key, (ignored, previous) ->
+                (previous == null ? CompletableFuture.<Void>completedFuture(null) : previous.exceptionally(ex -> null))
+                        .thenRunAsync(() -> process(record, acknowledgment, handler, true), executor));
+        next.whenComplete((ignored, ex) -> {
+            pendingByKey.remove(key, next);
+            if (ex != null) {
+                log.error("Record from topic {} partition {} offset {} failed outside of its handler: ",
+                        record.topic(), record.partition(), record.offset(), ex);
+            }
+        });
+    }
+
+    public void dispatchRetry(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment, Runnable handler) {
+        var delayMs = SagaHeaders.dueAt(record) - System.currentTimeMillis();
+        if (delayMs > 0) {
+            acknowledgment.nack(Duration.ofMillis(delayMs));
+            return;
+        }
+        process(record, acknowledgment, handler, false);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.kafka.retry.parked-route-interval-ms}")
+    public void routeParked() {
+        ParkedRecord parkedRecord;
+        var remaining = parkedRecords.size();
+        while (remaining-- > 0 && (parkedRecord = parkedRecords.poll()) != null) {
+            settle(parkedRecord.record(), parkedRecord.acknowledgment(), parkedRecord.exception(), true);
+        }
+    }
+
+    private void process(ConsumerRecord<String, LazyEvent> record,
+                         Acknowledgment acknowledgment,
+                         Runnable handler,
+                         boolean parkable) {
+        if (record.value() == null) {
+            settle(record, acknowledgment, new SerializationException("Record value could not be deserialized"), parkable);
+            return;
+        }
+        try {
+            sagaLogging.putIds(record.value().getOrderId(), record.value().getTransactionId());
+            handler.run();
+        } catch (Exception ex) {
+            log.error("Error trying to process record from topic {} partition {} offset {}: ",
+                    record.topic(), record.partition(), record.offset(), ex);
+            settle(record, acknowledgment, ex, parkable);
+            return;
+        } finally {
+            sagaLogging.clearIds();
+        }
+        acknowledgment.acknowledge();
+    }
+
+    private void settle(ConsumerRecord<String, LazyEvent> record,
+                        Acknowledgment acknowledgment,
+                        Exception ex,
+                        boolean parkable) {
+        if (route(record, ex)) {
+            acknowledgment.acknowledge();
+        } else if (parkable) {
+            log.error("Parking record from topic {} partition {} offset {} until it can be routed",
+                    record.topic(), record.partition(), record.offset());
+            parkedRecords.add(new ParkedRecord(record, acknowledgment, ex));
+        } else {
+            log.error("Redelivering record from topic {} partition {} offset {} because it could not be routed",
+                    record.topic(), record.partition(), record.offset());
+            acknowledgment.nack(Duration.ofMillis(routeBackoffMs));
+        }
+    }
+
+    private boolean route(ConsumerRecord<String, LazyEvent> record, Exception ex) {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                failedRecordRouter.route(record, ex);
+                return true;
+            } catch (Exception routeEx) {
+                if (attempt >= routeAttempts) {
+                    log.error("Error trying to route record from topic {} partition {} offset {} after {} attempts: ",
+                            record.topic(), record.partition(), record.offset(), attempt, routeEx);
+                    return false;
+                }
+                log.warn("Error trying to route record from topic {} partition {} offset {}, retrying attempt {} of {}: {}",
+                        record.topic(), record.partition(), record.offset(), attempt + 1, routeAttempts,
+                        routeEx.getMessage());
+                if (!pause(routeBackoffMs * attempt)) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean pause(long delayMs) {
+        try {
+            Thread.sleep(delayMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String resolveKey(ConsumerRecord<String, LazyEvent> record) {
+        return record.key() != null ? record.key() : String.valueOf(record.partition());
+    }
+
+    private record ParkedRecord(ConsumerRecord<String, LazyEvent> record,
+                                Acknowledgment acknowledgment,
+                                Exception exception) {
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package br.com.microservices.choreography.paymentservice.core.consumers;
 
+import br.com.microservices.choreography.paymentservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.paymentservice.core.saga.SagaStepExecutor;
 import br.com.microservices.choreography.paymentservice.core.services.PaymentService;
-import br.com.microservices.choreography.paymentservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.paymentservice.core.utils.SagaLogging;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -14,17 +18,23 @@ public class PaymentConsumer {
 
     private final PaymentService paymentService;
 
-    private final JsonUtil jsonUtil;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+
+    private final SagaStepExecutor sagaStepExecutor;
+
+    private final SagaLogging sagaLogging;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.payment-success}"
     )
 
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from payment-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizePayment(event);
+    public void consumeSuccessEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving success event {} from payment-success topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, paymentService::realizePayment));
     }
 
     @KafkaListener(
@@ -32,9 +42,39 @@ public class PaymentConsumer {
             topics = "${spring.kafka.topic.payment-fail}"
     )
 
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from payment-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizeRefund(event);
+    public void consumeFailEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving rollback event {} from payment-fail topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, paymentService::realizeRefund));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.payment-success}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeSuccessRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried success event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, paymentService::realizePayment));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.payment-fail}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeFailRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried rollback event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, paymentService::realizeRefund));
     }
 }
@@ -0,0 +1,14 @@
+package br.com.microservices.choreography.paymentservice.core.repositories;
+
+import br.com.microservices.choreography.paymentservice.core.models.ProcessedMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, Integer> {
+
+    Optional<ProcessedMessage> findByTopicAndTransactionId(String topic, String transactionId);
+
+}
@@ -1,23 +1,31 @@
 package br.com.microservices.choreography.paymentservice.core.saga;
 
 import br.com.microservices.choreography.paymentservice.core.dtos.Event;
+import br.com.microservices.choreography.paymentservice.core.dtos.History;
+import br.com.microservices.choreography.paymentservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.paymentservice.core.producers.KafkaProducer;
-import br.com.microservices.choreography.paymentservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.paymentservice.core.utils.SagaLogging;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SagaExecutionController {
 
-    public static final String SAGA_LOG_ID = "ORDER ID: %s  | TRANSACTION ID %s | EVENT ID %s";
-
-    private final JsonUtil jsonUtil;
+    private static final String CURRENT_SOURCE = "PAYMENT_SERVICE";
 
     private final KafkaProducer kafkaProducer;
+    private final SagaLogging sagaLogging;
+
+    @Value("${spring.kafka.event-history.delta-enabled}")
+    private boolean deltaHistoryEnabled;
 
     @Value("${spring.kafka.topic.inventory-success}")
     private String inventorySuccessTopic;
@@ -28,6 +36,27 @@ public class SagaExecutionController {
     @Value("${spring.kafka.topic.product-validation-fail}")
     private String productValidationFailTopic;
 
+    public Event startStep(Event event) {
+        if (deltaHistoryEnabled && event != null) {
+            event.setEventHistory(null);
+        }
+        return event;
+    }
+
+    public void handleDeadLetter(Event event, Exception ex) {
+        startStep(event);
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        event.addToHistory(History
+                .builder()
+                .source(CURRENT_SOURCE)
+                .status(ESagaStatus.FAIL)
+                .message("Step moved to dead letter topic: ".concat(String.valueOf(ex.getMessage())))
+                .createdAt(LocalDateTime.now())
+                .build());
+        handleFail(event);
+    }
+
     public void handleSaga(Event event) {
         switch (event.getStatus()) {
             case SUCCESS -> handleSuccess(event);
@@ -37,30 +66,39 @@ public class SagaExecutionController {
     }
 
     private void handleSuccess(Event event) {
-        log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}",
-                event.getSource(), inventorySuccessTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), inventorySuccessTopic, event.getId());
+        }
         sendEvent(event, inventorySuccessTopic);
     }
 
     private void handleRollbackPending(Event event) {
-        log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | {}",
-                event.getSource(), paymentFailTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), paymentFailTopic, event.getId());
+        }
         sendEvent(event, paymentFailTopic);
     }
 
     private void handleFail(Event event) {
-        log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {} ",
-                event.getSource(), productValidationFailTopic, createSagaId(event));
+        if (sagaLogging.isEnabled()) {
+            log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | EVENT ID {}",
+                    event.getSource(), productValidationFailTopic, event.getId());
+        }
         sendEvent(event, productValidationFailTopic);
     }
 
     private void sendEvent(Event event, String topic) {
-        var json = jsonUtil.toJson(event);
-        kafkaProducer.sendEvent(json, topic);
-    }
-
-    private String createSagaId(Event event) {
-        return String.format(SAGA_LOG_ID, event.getPayload().getId(), event.getTransactionId(), event.getId());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            kafkaProducer.sendEvent(event, topic, event.getOrderId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                kafkaProducer.sendEvent(event, topic, event.getOrderId());
+            }
+        });
     }
-
 }
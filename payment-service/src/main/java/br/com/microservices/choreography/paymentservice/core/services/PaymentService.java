@@ -9,14 +9,19 @@ import br.com.microservices.choreography.paymentservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.paymentservice.core.models.Payment;
 import br.com.microservices.choreography.paymentservice.core.repositories.PaymentRepository;
 import br.com.microservices.choreography.paymentservice.core.saga.SagaExecutionController;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 public class PaymentService {
 
@@ -27,6 +32,9 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final SagaExecutionController sagaExecutionController;
 
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
 
     public void realizePayment(Event event) {
         try {
@@ -37,6 +45,7 @@ public class PaymentService {
             changePaymentToSuccess(payment);
             handleSuccess(event);
         } catch (Exception ex) {
+            rethrowIfTransient(ex);
             log.error("Error trying to make payment: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
@@ -50,6 +59,7 @@ public class PaymentService {
             changePaymentStatusToRefund(event);
             addHistory(event, "Rollback executed for payment");
         } catch (Exception ex) {
+            rethrowIfTransient(ex);
             addHistory(event, "Rollback not executed for payment. ".concat(ex.getMessage()));
         }
         sagaExecutionController.handleSaga(event);
@@ -62,7 +72,19 @@ public class PaymentService {
         save(payment);
     }
 
+    private void rethrowIfTransient(Exception ex) {
+        if (ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException) {
+            throw (RuntimeException) ex;
+        }
+    }
+
     private void checkCurrentValidation(Event event) {
+        if (transactionalEnabled) {
+            return;
+        }
         Boolean existsTransaction =
                 paymentRepository.existsByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId());
         if (existsTransaction) {
@@ -0,0 +1,294 @@
+package br.com.microservices.choreography.paymentservice.core.utils;
+
+import br.com.microservices.choreography.paymentservice.core.dtos.Event;
+import br.com.microservices.choreography.paymentservice.core.dtos.History;
+import br.com.microservices.choreography.paymentservice.core.dtos.Order;
+import br.com.microservices.choreography.paymentservice.core.dtos.OrderProducts;
+import br.com.microservices.choreography.paymentservice.core.dtos.Product;
+import br.com.microservices.choreography.paymentservice.core.enums.ESagaStatus;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Same field names and ISO-8601 dates as the ObjectMapper, null fields are omitted.
+@Component
+public class JsonEventCodec {
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int DATE_TIME_LENGTH = 19;
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+    private static final int[] NANO_SCALE = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+    private static final ThreadLocal<ByteArrayBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+
+    private final JsonFactory jsonFactory;
+
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public byte[] encode(Event event) throws IOException {
+        var buffer = BUFFERS.get();
+        buffer.reset();
+        try (var generator = jsonFactory.createGenerator(buffer)) {
+            writeEvent(generator, event);
+        }
+        return buffer.toByteArray();
+    }
+
+    public Event decode(byte[] data) throws IOException {
+        try (var parser = jsonFactory.createParser(data)) {
+            parser.nextToken();
+            return readEvent(parser);
+        }
+    }
+
+    private void writeEvent(JsonGenerator generator, Event event) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "id", event.getId());
+        writeString(generator, "transactionId", event.getTransactionId());
+        writeString(generator, "orderId", event.getOrderId());
+        if (event.getPayload() != null) {
+            generator.writeFieldName("payload");
+            writeOrder(generator, event.getPayload());
+        }
+        writeString(generator, "source", event.getSource());
+        writeStatus(generator, "status", event.getStatus());
+        if (event.getEventHistory() != null) {
+            generator.writeArrayFieldStart("eventHistory");
+            for (var history : event.getEventHistory()) {
+                writeHistory(generator, history);
+            }
+            generator.writeEndArray();
+        }
+        writeDateTime(generator, "createdAt", event.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private Event readEvent(JsonParser parser) throws IOException {
+        expectObject(parser);
+        var event = new Event();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.getCurrentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> event.setId(parser.getText());
+                case "transactionId" -> event.setTransactionId(parser.getText());
+                case "orderId" -> event.setOrderId(parser.getText());
+                case "payload" -> event.setPayload(readOrder(parser));
+                case "source" -> event.setSource(parser.getText());
+                case "status" -> event.setStatus(ESagaStatus.valueOf(parser.getText()));
+                case "eventHistory" -> event.setEventHistory(readHistories(parser));
+                case "createdAt" -> event.setCreatedAt(readDateTime(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return event;
+    }
+
+    private void writeOrder(JsonGenerator generator, Order order) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "id", order.getId());
+        if (order.getProducts() != null) {
+            generator.writeArrayFieldStart("products");
+            for (var orderProducts : order.getProducts()) {
+                writeOrderProducts(generator, orderProducts);
+            }
+            generator.writeEndArray();
+        }
+        writeDateTime(generator, "createdAt", order.getCreatedAt());
+        writeString(generator, "transactionId", order.getTransactionId());
+        generator.writeNumberField("totalAmount", order.getTotalAmount());
+        if (order.getTotalItems() != null) {
+            generator.writeNumberField("totalItems", order.getTotalItems());
+        }
+        generator.writeEndObject();
+    }
+
+    private Order readOrder(JsonParser parser) throws IOException {
+        expectObject(parser);
+        var order = new Order();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.getCurrentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> order.setId(parser.getText());
+                case "products" -> order.setProducts(readOrderProducts(parser));
+                case "createdAt" -> order.setCreatedAt(readDateTime(parser));
+                case "transactionId" -> order.setTransactionId(parser.getText());
+                case "totalAmount" -> order.setTotalAmount(parser.getDoubleValue());
+                case "totalItems" -> order.setTotalItems(parser.getIntValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return order;
+    }
+
+    private void writeOrderProducts(JsonGenerator generator, OrderProducts orderProducts) throws IOException {
+        generator.writeStartObject();
+        var product = orderProducts.getProduct();
+        if (product != null) {
+            generator.writeObjectFieldStart("product");
+            writeString(generator, "code", product.getCode());
+            generator.writeNumberField("unitValue", product.getUnitValue());
+            generator.writeEndObject();
+        }
+        if (orderProducts.getQuantity() != null) {
+            generator.writeNumberField("quantity", orderProducts.getQuantity());
+        }
+        generator.writeEndObject();
+    }
+
+    private List<OrderProducts> readOrderProducts(JsonParser parser) throws IOException {
+        expectArray(parser);
+        var values = new ArrayList<OrderProducts>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expectObject(parser);
+            var orderProducts = new OrderProducts();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.getCurrentName();
+                var token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "product" -> orderProducts.setProduct(readProduct(parser));
+                    case "quantity" -> orderProducts.setQuantity(parser.getIntValue());
+                    default -> parser.skipChildren();
+                }
+            }
+            values.add(orderProducts);
+        }
+        return values;
+    }
+
+    private Product readProduct(JsonParser parser) throws IOException {
+        expectObject(parser);
+        var product = new Product();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.getCurrentName();
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "code" -> product.setCode(parser.getText());
+                case "unitValue" -> product.setUnitValue(parser.getDoubleValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return product;
+    }
+
+    private void writeHistory(JsonGenerator generator, History history) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "source", history.getSource());
+        writeStatus(generator, "status", history.getStatus());
+        writeString(generator, "message", history.getMessage());
+        writeDateTime(generator, "createdAt", history.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private List<History> readHistories(JsonParser parser) throws IOException {
+        expectArray(parser);
+        var values = new ArrayList<History>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expectObject(parser);
+            var history = new History();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.getCurrentName();
+                var token = parser.nextToken();
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "source" -> history.setSource(parser.getText());
+                    case "status" -> history.setStatus(ESagaStatus.valueOf(parser.getText()));
+                    case "message" -> history.setMessage(parser.getText());
+                    case "createdAt" -> history.setCreatedAt(readDateTime(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            values.add(history);
+        }
+        return values;
+    }
+
+    private void writeString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private void writeStatus(JsonGenerator generator, String field, ESagaStatus status) throws IOException {
+        if (status != null) {
+            generator.writeStringField(field, status.name());
+        }
+    }
+
+    private void writeDateTime(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    private LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        var text = parser.getText();
+        var length = text.length();
+        if (length < DATE_TIME_LENGTH || length > MAX_DATE_TIME_LENGTH || !hasDateTimeLayout(text)) {
+            return LocalDateTime.parse(text);
+        }
+        var nano = length > DATE_TIME_LENGTH
+                ? digits(text, DATE_TIME_LENGTH + 1, length) * NANO_SCALE[MAX_DATE_TIME_LENGTH - length]
+                : 0;
+        return LocalDateTime.of(digits(text, 0, 4), digits(text, 5, 7), digits(text, 8, 10),
+                digits(text, 11, 13), digits(text, 14, 16), digits(text, 17, 19), nano);
+    }
+
+    private boolean hasDateTimeLayout(String text) {
+        return text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':' && text.charAt(16) == ':'
+                && (text.length() == DATE_TIME_LENGTH
+                || text.length() > DATE_TIME_LENGTH + 1 && text.charAt(DATE_TIME_LENGTH) == '.');
+    }
+
+    private int digits(String text, int start, int end) throws IOException {
+        var value = 0;
+        for (var i = start; i < end; i++) {
+            var digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Invalid date in event: " + text);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void expectObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object in event");
+        }
+    }
+
+    private void expectArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array in event");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.microservices.choreography.productvalidationservice.configs.kafka;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import br.com.microservices.choreography.productvalidationservice.core.utils.BinaryEventCodec;
+import br.com.microservices.choreography.productvalidationservice.core.utils.JsonEventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Deserializer;
+
+@Slf4j
+@RequiredArgsConstructor
+public class EventDeserializer implements Deserializer<Event> {
+
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final JsonEventCodec jsonEventCodec;
+    private final BinaryEventCodec binaryEventCodec;
+
+    @Override
+    public Event deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            return switch (data[0]) {
+                case JSON_OBJECT_START -> jsonEventCodec.decode(data);
+                case BinaryEventCodec.VERSION_1 -> binaryEventCodec.decode(data);
+                default -> throw new IllegalArgumentException("Unknown wire format marker " + data[0]);
+            };
+        } catch (Exception ex) {
+            log.error("Error trying to deserialize event from topic {}: ", topic, ex);
+            return null;
+        }
+    }
+}
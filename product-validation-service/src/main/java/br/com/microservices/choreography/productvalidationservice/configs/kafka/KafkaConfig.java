@@ -1,18 +1,29 @@
 package br.com.microservices.choreography.productvalidationservice.configs.kafka;
 
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.productvalidationservice.core.enums.EWireFormat;
+import br.com.microservices.choreography.productvalidationservice.core.utils.BinaryEventCodec;
+import br.com.microservices.choreography.productvalidationservice.core.utils.JsonEventCodec;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,8 +32,16 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class KafkaConfig {
 
-    private static final Integer PARTITION_COUNT = 1;
     private static final Integer REPLICA_COUNT = 1;
+    private static final String TOPIC_PARTITIONS_PROPERTY = "spring.kafka.partitions.topics.";
+    private static final String TOPIC_WIRE_FORMAT_PROPERTY = "spring.kafka.wire-format.topics.";
+    private static final String READ_COMMITTED = "read_committed";
+    private static final String ACKS_ALL = "all";
+    private static final String RAW_TRANSACTION_ID_SUFFIX = "raw-";
+
+    private final Environment environment;
+    private final JsonEventCodec jsonEventCodec;
+    private final BinaryEventCodec binaryEventCodec;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
@@ -33,6 +52,33 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${spring.kafka.partitions.default}")
+    private Integer defaultPartitionCount;
+
+    @Value("${spring.kafka.wire-format.default}")
+    private EWireFormat defaultWireFormat;
+
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+
+    @Value("${spring.kafka.consumer.parallel.enabled}")
+    private boolean parallelConsumptionEnabled;
+
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
+    @Value("${spring.kafka.transactional.id-prefix}")
+    private String transactionIdPrefix;
+
+    @Value("${spring.kafka.retry.attempts}")
+    private Integer retryAttempts;
+
+    @Value("${spring.kafka.retry.topic-suffix}")
+    private String retryTopicSuffix;
+
+    @Value("${spring.kafka.retry.dead-letter-suffix}")
+    private String deadLetterTopicSuffix;
+
     @Value("${spring.kafka.topic.payment-success}")
     private String paymentSuccessTopic;
 
@@ -46,46 +92,114 @@ public class KafkaConfig {
     private String notifyEndingTopic;
 
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(consumerProperties());
+    public ConsumerFactory<String, LazyEvent> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(
+                consumerProperties(),
+                new StringDeserializer(),
+                new LazyEventDeserializer(new EventDeserializer(jsonEventCodec, binaryEventCodec))
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LazyEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, LazyEvent> consumerFactory,
+            ProducerFactory<String, Event> producerFactory) {
+        return buildListenerContainerFactory(consumerFactory, producerFactory, parallelConsumptionEnabled);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LazyEvent> retryKafkaListenerContainerFactory(
+            ConsumerFactory<String, LazyEvent> consumerFactory,
+            ProducerFactory<String, Event> producerFactory) {
+        return buildListenerContainerFactory(consumerFactory, producerFactory, false);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, LazyEvent> buildListenerContainerFactory(
+            ConsumerFactory<String, LazyEvent> consumerFactory,
+            ProducerFactory<String, Event> producerFactory,
+            boolean asyncAcks) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, LazyEvent>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(listenerConcurrency);
+        if (transactionalEnabled) {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+            factory.getContainerProperties().setTransactionManager(new KafkaTransactionManager<>(producerFactory));
+        } else {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(asyncAcks);
+        }
+        return factory;
     }
 
     private Map<String, Object> consumerProperties() {
         var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, READ_COMMITTED);
         return props;
     }
 
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProperties());
+    public ProducerFactory<String, Event> producerFactory() {
+        var factory = new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new EventSerializer(jsonEventCodec, binaryEventCodec, this::wireFormat)
+        );
+        if (transactionalEnabled) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> rawProducerFactory() {
+        var factory = new DefaultKafkaProducerFactory<>(
+                producerProperties(),
+                new StringSerializer(),
+                new ByteArraySerializer()
+        );
+        if (transactionalEnabled) {
+            factory.setTransactionIdPrefix(transactionIdPrefix.concat(RAW_TRANSACTION_ID_SUFFIX));
+        }
+        return factory;
     }
 
     private Map<String, Object> producerProperties() {
         var props = new HashMap<String, Object>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, ACKS_ALL);
         return props;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, Event> kafkaTemplate(ProducerFactory<String, Event> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 
+    @Bean
+    public KafkaTemplate<String, byte[]> rawKafkaTemplate(ProducerFactory<String, byte[]> rawProducerFactory) {
+        return new KafkaTemplate<>(rawProducerFactory);
+    }
+
     private NewTopic buildTopic(String name) {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(partitionCount(name))
                 .build();
     }
 
+    private Integer partitionCount(String topic) {
+        return environment.getProperty(TOPIC_PARTITIONS_PROPERTY.concat(topic), Integer.class, defaultPartitionCount);
+    }
+
+    private EWireFormat wireFormat(String topic) {
+        return environment.getProperty(TOPIC_WIRE_FORMAT_PROPERTY.concat(topic), EWireFormat.class, defaultWireFormat);
+    }
+
     @Bean
     public NewTopic paymentSuccessTopic() {
         return buildTopic(paymentSuccessTopic);
@@ -101,4 +215,20 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic notifyEndingTopic() { return buildTopic(notifyEndingTopic); }
+
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics() {
+        return new KafkaAdmin.NewTopics(buildRetryTopics(productValidationSuccessStartTopic, productValidationSFailTopic));
+    }
+
+    private NewTopic[] buildRetryTopics(String... topics) {
+        var retryTopics = new ArrayList<NewTopic>();
+        for (var topic : topics) {
+            for (var attempt = 1; attempt <= retryAttempts; attempt++) {
+                retryTopics.add(buildTopic(topic.concat(retryTopicSuffix).concat(String.valueOf(attempt))));
+            }
+            retryTopics.add(buildTopic(topic.concat(deadLetterTopicSuffix)));
+        }
+        return retryTopics.toArray(NewTopic[]::new);
+    }
 }
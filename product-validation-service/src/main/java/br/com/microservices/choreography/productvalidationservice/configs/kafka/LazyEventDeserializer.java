@@ -0,0 +1,43 @@
+package br.com.microservices.choreography.productvalidationservice.configs.kafka;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.productvalidationservice.core.utils.SagaHeaders;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+
+@RequiredArgsConstructor
+public class LazyEventDeserializer implements Deserializer<LazyEvent> {
+
+    private final EventDeserializer eventDeserializer;
+
+    @Override
+    public LazyEvent deserialize(String topic, byte[] data) {
+        return deserialize(topic, new RecordHeaders(), data);
+    }
+
+    @Override
+    public LazyEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        return new LazyEvent(
+                SagaHeaders.read(headers, SagaHeaders.ORDER_ID).orElse(null),
+                SagaHeaders.read(headers, SagaHeaders.TRANSACTION_ID).orElse(null),
+                SagaHeaders.read(headers, SagaHeaders.STATUS).map(this::parseStatus).orElse(null),
+                SagaHeaders.read(headers, SagaHeaders.SOURCE).orElse(null),
+                data,
+                bytes -> eventDeserializer.deserialize(topic, bytes)
+        );
+    }
+
+    private ESagaStatus parseStatus(String status) {
+        try {
+            return ESagaStatus.valueOf(status);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
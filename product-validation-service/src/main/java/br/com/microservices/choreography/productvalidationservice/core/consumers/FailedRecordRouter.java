@@ -0,0 +1,142 @@
+package br.com.microservices.choreography.productvalidationservice.core.consumers;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.productvalidationservice.core.saga.SagaExecutionController;
+import br.com.microservices.choreography.productvalidationservice.core.utils.SagaHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+@Slf4j
+@Component
+public class FailedRecordRouter {
+
+    private static final String ROUTED_COUNTER = "saga.consumer.routed";
+    private static final String TOPIC_TAG = "topic";
+    private static final String TIER_TAG = "tier";
+    private static final String DEAD_LETTER_TIER = "dlt";
+    private static final String RETRY_TIER = "retry-";
+    private static final int MAX_STACKTRACE_LENGTH = 8192;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SagaExecutionController sagaExecutionController;
+    private final int attempts;
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final String retryTopicSuffix;
+    private final String deadLetterTopicSuffix;
+
+    public FailedRecordRouter(KafkaTemplate<String, byte[]> kafkaTemplate,
+                              MeterRegistry meterRegistry,
+                              SagaExecutionController sagaExecutionController,
+                              @Value("${spring.kafka.retry.attempts}") int attempts,
+                              @Value("${spring.kafka.retry.initial-delay-ms}") long initialDelayMs,
+                              @Value("${spring.kafka.retry.multiplier}") double multiplier,
+                              @Value("${spring.kafka.retry.topic-suffix}") String retryTopicSuffix,
+                              @Value("${spring.kafka.retry.dead-letter-suffix}") String deadLetterTopicSuffix) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sagaExecutionController = sagaExecutionController;
+        this.attempts = attempts;
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.retryTopicSuffix = retryTopicSuffix;
+        this.deadLetterTopicSuffix = deadLetterTopicSuffix;
+    }
+
+    public void route(ConsumerRecord<String, LazyEvent> record, Exception ex) {
+        var originalTopic = SagaHeaders.originalTopic(record);
+        var attempt = SagaHeaders.attempt(record) + 1;
+        var decodable = isDecodable(record.value());
+        if (!decodable || attempt > attempts) {
+            sendToDeadLetter(record, originalTopic, ex);
+            notifyDeadLetter(record, decodable, ex);
+        } else {
+            sendToRetry(record, originalTopic, attempt, ex);
+        }
+    }
+
+    private boolean isDecodable(LazyEvent lazyEvent) {
+        try {
+            return lazyEvent != null && lazyEvent.getEvent() != null;
+        } catch (SerializationException ex) {
+            return false;
+        }
+    }
+
+    private void sendToRetry(ConsumerRecord<String, LazyEvent> record,
+                             String originalTopic,
+                             int attempt,
+                             Exception ex) {
+        var delayMs = (long) (initialDelayMs * Math.pow(multiplier, attempt - 1));
+        var retryTopic = originalTopic.concat(retryTopicSuffix).concat(String.valueOf(attempt));
+        var headers = failureHeaders(record, originalTopic, ex);
+        SagaHeaders.write(headers, SagaHeaders.ATTEMPT, attempt);
+        SagaHeaders.write(headers, SagaHeaders.DUE_AT, System.currentTimeMillis() + delayMs);
+        log.warn("Routing record from topic {} to {} in {} ms after failure: {}",
+                record.topic(), retryTopic, delayMs, ex.getMessage());
+        send(new ProducerRecord<>(retryTopic, null, record.key(), originalData(record), headers));
+        meterRegistry.counter(ROUTED_COUNTER, TOPIC_TAG, originalTopic, TIER_TAG, RETRY_TIER + attempt).increment();
+    }
+
+    private void sendToDeadLetter(ConsumerRecord<String, LazyEvent> record,
+                                  String originalTopic,
+                                  Exception ex) {
+        var deadLetterTopic = originalTopic.concat(deadLetterTopicSuffix);
+        var headers = failureHeaders(record, originalTopic, ex);
+        SagaHeaders.write(headers, SagaHeaders.DUE_AT, null);
+        SagaHeaders.write(headers, SagaHeaders.EXCEPTION_STACKTRACE, stackTrace(ex));
+        log.error("Routing record from topic {} partition {} offset {} to dead letter topic {}",
+                record.topic(), record.partition(), record.offset(), deadLetterTopic);
+        send(new ProducerRecord<>(deadLetterTopic, null, record.key(), originalData(record), headers));
+        meterRegistry.counter(ROUTED_COUNTER, TOPIC_TAG, originalTopic, TIER_TAG, DEAD_LETTER_TIER).increment();
+    }
+
+    private void notifyDeadLetter(ConsumerRecord<String, LazyEvent> record, boolean decodable, Exception ex) {
+        if (!decodable) {
+            log.error("Record from topic {} partition {} offset {} could not be decoded, no saga failure was sent",
+                    record.topic(), record.partition(), record.offset());
+            return;
+        }
+        sagaExecutionController.handleDeadLetter(record.value().decodeData(), ex);
+    }
+
+    private RecordHeaders failureHeaders(ConsumerRecord<String, LazyEvent> record, String originalTopic, Exception ex) {
+        var headers = new RecordHeaders(record.headers().toArray());
+        if (SagaHeaders.read(headers, SagaHeaders.ORIGINAL_TOPIC).isEmpty()) {
+            SagaHeaders.write(headers, SagaHeaders.ORIGINAL_TOPIC, originalTopic);
+            SagaHeaders.write(headers, SagaHeaders.ORIGINAL_PARTITION, record.partition());
+            SagaHeaders.write(headers, SagaHeaders.ORIGINAL_OFFSET, record.offset());
+        }
+        SagaHeaders.write(headers, SagaHeaders.EXCEPTION_CLASS, ex.getClass().getName());
+        SagaHeaders.write(headers, SagaHeaders.EXCEPTION_MESSAGE, ex.getMessage());
+        return headers;
+    }
+
+    private byte[] originalData(ConsumerRecord<String, LazyEvent> record) {
+        return record.value() == null ? null : record.value().getData();
+    }
+
+    private void send(ProducerRecord<String, byte[]> producerRecord) {
+        kafkaTemplate.send(producerRecord).join();
+    }
+
+    private String stackTrace(Exception ex) {
+        var writer = new StringWriter();
+        ex.printStackTrace(new PrintWriter(writer));
+        var stackTrace = writer.toString();
+        return stackTrace.length() > MAX_STACKTRACE_LENGTH
+                ? stackTrace.substring(0, MAX_STACKTRACE_LENGTH)
+                : stackTrace;
+    }
+}
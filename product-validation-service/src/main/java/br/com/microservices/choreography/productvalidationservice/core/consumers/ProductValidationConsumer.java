@@ -1,10 +1,14 @@
 package br.com.microservices.choreography.productvalidationservice.core.consumers;
 
+import br.com.microservices.choreography.productvalidationservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.productvalidationservice.core.saga.SagaStepExecutor;
 import br.com.microservices.choreography.productvalidationservice.core.services.ProductValidationService;
-import br.com.microservices.choreography.productvalidationservice.core.utils.JsonUtil;
+import br.com.microservices.choreography.productvalidationservice.core.utils.SagaLogging;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -13,17 +17,22 @@ import org.springframework.stereotype.Component;
 public class ProductValidationConsumer {
 
     private final ProductValidationService productValidationService;
-    private final JsonUtil jsonUtil;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
+    private final SagaStepExecutor sagaStepExecutor;
+
+    private final SagaLogging sagaLogging;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-start}"
     )
 
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from product-validation-start topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.validateExistsProducts(event);
+    public void consumeSuccessEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving success event {} from product-validation-start topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, productValidationService::validateExistsProducts));
     }
 
     @KafkaListener(
@@ -31,9 +40,39 @@ public class ProductValidationConsumer {
             topics = "${spring.kafka.topic.product-validation-fail}"
     )
 
-    public void consumeFailEvent(String payload) {
-        log.info("Receiving rollback event {} from product-validation-fail topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        productValidationService.rollbackEvent(event);
+    public void consumeFailEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving rollback event {} from product-validation-fail topic", record.value());
+        }
+        keyOrderedDispatcher.dispatch(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, productValidationService::rollbackEvent));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.product-validation-start}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeSuccessRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried success event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, productValidationService::validateExistsProducts));
+    }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topicPattern = "${spring.kafka.topic.product-validation-fail}${spring.kafka.retry.topic-suffix}\\d+",
+            containerFactory = "retryKafkaListenerContainerFactory"
+    )
+
+    public void consumeFailRetryEvent(ConsumerRecord<String, LazyEvent> record, Acknowledgment acknowledgment) {
+        if (sagaLogging.isEnabled()) {
+            log.info("Receiving retried rollback event {} from {} topic", record.value(), record.topic());
+        }
+        keyOrderedDispatcher.dispatchRetry(record, acknowledgment,
+                () -> sagaStepExecutor.execute(record, productValidationService::rollbackEvent));
     }
 }
@@ -0,0 +1,63 @@
+package br.com.microservices.choreography.productvalidationservice.core.dtos;
+
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+@ToString(onlyExplicitlyIncluded = true, doNotUseGetters = true)
+public class LazyEvent {
+
+    @ToString.Include
+    private final String orderId;
+
+    @ToString.Include
+    private final String transactionId;
+
+    @ToString.Include
+    private final ESagaStatus status;
+
+    @ToString.Include
+    private final String source;
+
+    @Getter
+    private final byte[] data;
+
+    private final Function<byte[], Event> decoder;
+
+    private Event event;
+
+    public String getOrderId() {
+        return orderId != null ? orderId : getEvent().getOrderId();
+    }
+
+    public String getTransactionId() {
+        return transactionId != null ? transactionId : getEvent().getTransactionId();
+    }
+
+    public ESagaStatus getStatus() {
+        return status != null ? status : getEvent().getStatus();
+    }
+
+    public String getSource() {
+        return source != null ? source : getEvent().getSource();
+    }
+
+    public Event decodeData() {
+        return decoder.apply(data);
+    }
+
+    public Event getEvent() {
+        if (event == null) {
+            event = decoder.apply(data);
+            if (event == null) {
+                throw new SerializationException("Record value could not be deserialized");
+            }
+        }
+        return event;
+    }
+}
@@ -1,23 +1,143 @@
 package br.com.microservices.choreography.productvalidationservice.core.producers;
 
-import lombok.RequiredArgsConstructor;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import br.com.microservices.choreography.productvalidationservice.core.utils.SagaLogging;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String SEND_TIMER = "saga.producer.send";
+    private static final String RETRY_COUNTER = "saga.producer.retries";
+    private static final String ERROR_COUNTER = "saga.producer.errors";
+    private static final String IN_FLIGHT_GAUGE = "saga.producer.in-flight";
+    private static final String PARKED_GAUGE = "saga.producer.parked";
+    private static final String TOPIC_TAG = "topic";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final long SATURATION_LOG_INTERVAL_SECONDS = 5;
+
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SagaLogging sagaLogging;
+    private final Semaphore inFlightPermits;
+    private final Queue<PendingSend> parkedSends = new ConcurrentLinkedQueue<>();
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final boolean transactionalEnabled;
+
+    public KafkaProducer(KafkaTemplate<String, Event> kafkaTemplate,
+                         MeterRegistry meterRegistry,
+                         SagaLogging sagaLogging,
+                         @Value("${spring.kafka.producer.max-in-flight}") int maxInFlight,
+                         @Value("${spring.kafka.producer.max-attempts}") int maxAttempts,
+                         @Value("${spring.kafka.producer.retry-backoff-ms}") long retryBackoffMs,
+                         @Value("${spring.kafka.transactional.enabled}") boolean transactionalEnabled) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sagaLogging = sagaLogging;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.transactionalEnabled = transactionalEnabled;
+        meterRegistry.gauge(IN_FLIGHT_GAUGE, inFlightPermits, permits -> maxInFlight - permits.availablePermits());
+        meterRegistry.gaugeCollectionSize(PARKED_GAUGE, Tags.empty(), parkedSends);
+    }
+
+    public CompletableFuture<SendResult<String, Event>> sendEvent(Event event, String topic, String key) {
+        acquirePermit(topic);
+        if (sagaLogging.isEnabled()) {
+            log.info("Sending event to topic {} with data {}", topic, sagaLogging.payload(event));
+        }
+        var pendingSend = new PendingSend(event, topic, key, new CompletableFuture<>());
+        send(pendingSend, 1);
+        return pendingSend.result();
+    }
+
+    @Scheduled(fixedDelayString = "${spring.kafka.producer.parked-retry-interval-ms}")
+    public void resendParked() {
+        PendingSend pendingSend;
+        while ((pendingSend = parkedSends.poll()) != null) {
+            log.info("Resending parked event to topic {} with key {}", pendingSend.topic(), pendingSend.key());
+            send(pendingSend, 1);
+        }
+    }
+
+    private void acquirePermit(String topic) {
+        try {
+            while (!inFlightPermits.tryAcquire(SATURATION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Send pipeline saturated with {} in-flight events, waiting to send to topic {}",
+                        maxInFlight, topic);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to send to topic ".concat(topic), ex);
+        }
+    }
 
-    public void sendEvent(String payload, String topic) {
+    private void send(PendingSend pendingSend, int attempt) {
+        var sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, Event>> future;
         try {
-            log.info("Sending event to topic {} with data {}", topic, payload);
-            kafkaTemplate.send(topic, payload);
+            future = kafkaTemplate.send(pendingSend.topic(), pendingSend.key(), pendingSend.event());
         } catch (Exception ex) {
-             log.error("Error trying to send data to topic {} with data {}", topic, payload, ex);
+            future = CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((result, ex) -> {
+            sample.stop(meterRegistry.timer(SEND_TIMER,
+                    TOPIC_TAG, pendingSend.topic(), OUTCOME_TAG, ex == null ? "success" : "failure"));
+            if (ex == null) {
+                inFlightPermits.release();
+                pendingSend.result().complete(result);
+            } else {
+                handleFailure(pendingSend, attempt, ex);
+            }
+        });
+    }
+
+    private void handleFailure(PendingSend pendingSend, int attempt, Throwable ex) {
+        meterRegistry.counter(ERROR_COUNTER, TOPIC_TAG, pendingSend.topic()).increment();
+        if (transactionalEnabled) {
+            log.error("Error trying to send data to topic {}, the listener transaction will be rolled back",
+                    pendingSend.topic(), ex);
+            inFlightPermits.release();
+            pendingSend.result().completeExceptionally(ex);
+            return;
+        }
+        if (attempt < maxAttempts) {
+            log.warn("Error trying to send data to topic {}, retrying attempt {} of {}: {}",
+                    pendingSend.topic(), attempt + 1, maxAttempts, ex.getMessage());
+            meterRegistry.counter(RETRY_COUNTER, TOPIC_TAG, pendingSend.topic()).increment();
+            CompletableFuture.runAsync(
+                    () -> send(pendingSend, attempt + 1),
+                    CompletableFuture.delayedExecutor(retryBackoffMs * attempt, TimeUnit.MILLISECONDS)
+            );
+            return;
         }
+        log.error("Error trying to send event for order {} and transaction {} to topic {}, parking it for a later retry",
+                pendingSend.event().getOrderId(), pendingSend.event().getTransactionId(), pendingSend.topic(), ex);
+        parkedSends.add(pendingSend);
+    }
+
+    private record PendingSend(Event event,
+                               String topic,
+                               String key,
+                               CompletableFuture<SendResult<String, Event>> result) {
     }
 }
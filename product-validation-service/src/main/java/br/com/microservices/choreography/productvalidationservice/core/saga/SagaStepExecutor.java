@@ -0,0 +1,105 @@
+package br.com.microservices.choreography.productvalidationservice.core.saga;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.LazyEvent;
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.productvalidationservice.core.models.ProcessedMessage;
+import br.com.microservices.choreography.productvalidationservice.core.repositories.ProcessedMessageRepository;
+import br.com.microservices.choreography.productvalidationservice.core.utils.JsonEventCodec;
+import br.com.microservices.choreography.productvalidationservice.core.utils.SagaHeaders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SagaStepExecutor {
+
+    private final SagaExecutionController sagaExecutionController;
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonEventCodec jsonEventCodec;
+
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
+    public void execute(ConsumerRecord<String, LazyEvent> record, Consumer<Event> step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (transactionalEnabled) {
+                    executeOnce(SagaHeaders.originalTopic(record), record.value(), step);
+                } else {
+                    step.accept(sagaExecutionController.startStep(record.value().getEvent()));
+                }
+            });
+        } catch (UnexpectedRollbackException ex) {
+            sendHandledFailure(record, ex);
+        }
+    }
+
+    private void sendHandledFailure(ConsumerRecord<String, LazyEvent> record, UnexpectedRollbackException ex) {
+        var event = record.value().getEvent();
+        if (ESagaStatus.SUCCESS.equals(event.getStatus())) {
+            throw ex;
+        }
+        log.warn("Transaction for {} was rolled back after the step handled its failure, sending {} in a new transaction",
+                event.getTransactionId(), event.getStatus());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (transactionalEnabled) {
+                saveProcessedMessage(SagaHeaders.originalTopic(record), event);
+            }
+            sagaExecutionController.handleSaga(event);
+        });
+    }
+
+    private void executeOnce(String topic, LazyEvent lazyEvent, Consumer<Event> step) {
+        var processedMessage = processedMessageRepository
+                .findByTopicAndTransactionId(topic, lazyEvent.getTransactionId());
+        if (processedMessage.isPresent()) {
+            log.info("Event from topic {} was already processed for transaction {}, resending its result",
+                    topic, lazyEvent.getTransactionId());
+            sagaExecutionController.handleSaga(readEvent(processedMessage.get().getOutputEvent()));
+            return;
+        }
+        var event = sagaExecutionController.startStep(lazyEvent.getEvent());
+        step.accept(event);
+        saveProcessedMessage(topic, event);
+    }
+
+    private void saveProcessedMessage(String topic, Event event) {
+        processedMessageRepository.save(
+                ProcessedMessage
+                        .builder()
+                        .topic(topic)
+                        .orderId(event.getOrderId())
+                        .transactionId(event.getTransactionId())
+                        .outputEvent(writeEvent(event))
+                        .build()
+        );
+    }
+
+    private String writeEvent(Event event) {
+        try {
+            return new String(jsonEventCodec.encode(event), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error trying to store processed event.", ex);
+        }
+    }
+
+    private Event readEvent(String json) {
+        try {
+            return jsonEventCodec.decode(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error trying to read processed event.", ex);
+        }
+    }
+}
@@ -8,9 +8,14 @@ import br.com.microservices.choreography.productvalidationservice.core.models.Va
 import br.com.microservices.choreography.productvalidationservice.core.repositories.ProductRepository;
 import br.com.microservices.choreography.productvalidationservice.core.repositories.ValidationRepository;
 import br.com.microservices.choreography.productvalidationservice.core.saga.SagaExecutionController;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
 
@@ -18,7 +23,7 @@ import static br.com.microservices.choreography.productvalidationservice.core.en
 import static org.springframework.util.ObjectUtils.isEmpty;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 public class ProductValidationService {
 
@@ -28,25 +33,44 @@ public class ProductValidationService {
     private final ValidationRepository validationRepository;
     private final SagaExecutionController sagaExecutionController;
 
+    @Value("${spring.kafka.transactional.enabled}")
+    private boolean transactionalEnabled;
+
     public void validateExistsProducts(Event event) {
         try {
             checkCurrentValidation(event);
             createValidation(event, true);
             handleSuccess(event, "Products are validated successfully.");
         } catch (Exception ex) {
+            rethrowIfTransient(ex);
             log.error("Error trying to validate products: ", ex);
             handleFailCurrentNotExecuted(event, ex.getMessage());
         }
         sagaExecutionController.handleSaga(event);
     }
 
-    private void checkCurrentValidation(Event event) {
-        validateProductsInformed(event);
+    private void rethrowIfTransient(Exception ex) {
+        if (ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException) {
+            throw (RuntimeException) ex;
+        }
+    }
+
+    private void checkExistingTransaction(Event event) {
         Boolean existsTransaction =
                 validationRepository.existsByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId());
         if (existsTransaction) {
             throw new ValidationException("There's another transactionID for this validation");
         }
+    }
+
+    private void checkCurrentValidation(Event event) {
+        validateProductsInformed(event);
+        if (!transactionalEnabled) {
+            checkExistingTransaction(event);
+        }
         event.getPayload().getProducts().forEach(product -> {
             validateProductInformed(product);
             validateExistingProduct(product.getProduct().getCode());
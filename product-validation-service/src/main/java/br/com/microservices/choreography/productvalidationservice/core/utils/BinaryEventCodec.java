@@ -0,0 +1,335 @@
+package br.com.microservices.choreography.productvalidationservice.core.utils;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.History;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Order;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.OrderProducts;
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Product;
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Schema v1, fields in declaration order:
+// Event   = id, transactionId, orderId, payload?Order, source, status, eventHistory[History], createdAt
+// Order   = id, products[OrderProducts], createdAt, transactionId, totalAmount, totalItems
+// OrderProducts = product?Product, quantity
+// Product = code, unitValue
+// History = source, status, message, createdAt
+// Strings and lists are prefixed by a varint length + 1 (0 = null), enums by ordinal + 1 (0 = null),
+// integers are zigzag varints + 1 (0 = null), doubles are 8 bytes and dates are epoch second + nano varints.
+@Component
+public class BinaryEventCodec {
+
+    public static final byte VERSION_1 = 1;
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int NULL_MARKER = 0;
+    private static final ESagaStatus[] SAGA_STATUSES = ESagaStatus.values();
+
+    public byte[] encode(Event event) {
+        var output = new Writer(INITIAL_BUFFER_SIZE);
+        output.writeByte(VERSION_1);
+        writeString(output, event.getId());
+        writeString(output, event.getTransactionId());
+        writeString(output, event.getOrderId());
+        writeOrder(output, event.getPayload());
+        writeString(output, event.getSource());
+        writeStatus(output, event.getStatus());
+        writeList(output, event.getEventHistory(), history -> writeHistory(output, history));
+        writeDateTime(output, event.getCreatedAt());
+        return output.toByteArray();
+    }
+
+    public Event decode(byte[] data) throws IOException {
+        var input = new Reader(data);
+        var version = input.readByte();
+        if (version != VERSION_1) {
+            throw new IOException("Unsupported binary event version: " + version);
+        }
+        return Event
+                .builder()
+                .id(readString(input))
+                .transactionId(readString(input))
+                .orderId(readString(input))
+                .payload(readOrder(input))
+                .source(readString(input))
+                .status(readStatus(input))
+                .eventHistory(readList(input, () -> readHistory(input)))
+                .createdAt(readDateTime(input))
+                .build();
+    }
+
+    private void writeOrder(Writer output, Order order) {
+        output.writeBoolean(order != null);
+        if (order == null) {
+            return;
+        }
+        writeString(output, order.getId());
+        writeList(output, order.getProducts(), orderProducts -> writeOrderProducts(output, orderProducts));
+        writeDateTime(output, order.getCreatedAt());
+        writeString(output, order.getTransactionId());
+        output.writeDouble(order.getTotalAmount());
+        writeInteger(output, order.getTotalItems());
+    }
+
+    private Order readOrder(Reader input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        return Order
+                .builder()
+                .id(readString(input))
+                .products(readList(input, () -> readOrderProducts(input)))
+                .createdAt(readDateTime(input))
+                .transactionId(readString(input))
+                .totalAmount(input.readDouble())
+                .totalItems(readInteger(input))
+                .build();
+    }
+
+    private void writeOrderProducts(Writer output, OrderProducts orderProducts) {
+        var product = orderProducts.getProduct();
+        output.writeBoolean(product != null);
+        if (product != null) {
+            writeString(output, product.getCode());
+            output.writeDouble(product.getUnitValue());
+        }
+        writeInteger(output, orderProducts.getQuantity());
+    }
+
+    private OrderProducts readOrderProducts(Reader input) throws IOException {
+        var product = input.readBoolean()
+                ? new Product(readString(input), input.readDouble())
+                : null;
+        return new OrderProducts(product, readInteger(input));
+    }
+
+    private void writeHistory(Writer output, History history) {
+        writeString(output, history.getSource());
+        writeStatus(output, history.getStatus());
+        writeString(output, history.getMessage());
+        writeDateTime(output, history.getCreatedAt());
+    }
+
+    private History readHistory(Reader input) throws IOException {
+        return History
+                .builder()
+                .source(readString(input))
+                .status(readStatus(input))
+                .message(readString(input))
+                .createdAt(readDateTime(input))
+                .build();
+    }
+
+    private void writeString(Writer output, String value) {
+        if (value == null) {
+            writeVarLong(output, NULL_MARKER);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(output, bytes.length + 1L);
+        output.write(bytes);
+    }
+
+    private String readString(Reader input) throws IOException {
+        var length = readLength(input);
+        if (length == NULL_MARKER) {
+            return null;
+        }
+        return input.readString(length - 1);
+    }
+
+    private void writeStatus(Writer output, ESagaStatus status) {
+        writeVarLong(output, status == null ? NULL_MARKER : status.ordinal() + 1L);
+    }
+
+    private ESagaStatus readStatus(Reader input) throws IOException {
+        var ordinal = (int) readVarLong(input);
+        return ordinal == NULL_MARKER ? null : SAGA_STATUSES[ordinal - 1];
+    }
+
+    private void writeInteger(Writer output, Integer value) {
+        writeVarLong(output, value == null ? NULL_MARKER : zigzag(value) + 1);
+    }
+
+    private Integer readInteger(Reader input) throws IOException {
+        var value = readVarLong(input);
+        return value == NULL_MARKER ? null : (int) unzigzag(value - 1);
+    }
+
+    private void writeDateTime(Writer output, LocalDateTime value) {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(output, zigzag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(output, value.getNano());
+        }
+    }
+
+    private LocalDateTime readDateTime(Reader input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        var epochSecond = unzigzag(readVarLong(input));
+        var nano = (int) readVarLong(input);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private <T> void writeList(Writer output, List<T> values, Consumer<T> writer) {
+        if (values == null) {
+            writeVarLong(output, NULL_MARKER);
+            return;
+        }
+        writeVarLong(output, values.size() + 1L);
+        for (var value : values) {
+            writer.accept(value);
+        }
+    }
+
+    private <T> List<T> readList(Reader input, IOSupplier<T> reader) throws IOException {
+        var size = readLength(input);
+        if (size == NULL_MARKER) {
+            return null;
+        }
+        var values = new ArrayList<T>(size - 1);
+        for (var i = 1; i < size; i++) {
+            values.add(reader.get());
+        }
+        return values;
+    }
+
+    // Every list element and string byte takes at least one byte of input, so a larger length is corrupt.
+    private int readLength(Reader input) throws IOException {
+        var length = readVarLong(input);
+        if (length < NULL_MARKER || length - 1 > input.remaining()) {
+            throw new IOException("Length " + (length - 1) + " exceeds the " + input.remaining()
+                    + " remaining bytes of binary event");
+        }
+        return (int) length;
+    }
+
+    private void writeVarLong(Writer output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private long readVarLong(Reader input) throws IOException {
+        var value = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            var current = input.readByte() & 0xFF;
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in binary event");
+    }
+
+    private long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int initialSize) {
+            this.buffer = new byte[initialSize];
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        private void writeDouble(double value) {
+            var bits = Double.doubleToLongBits(value);
+            ensureCapacity(Long.BYTES);
+            for (var shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        private void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int remaining() {
+            return buffer.length - position;
+        }
+
+        private byte readByte() throws IOException {
+            if (position >= buffer.length) {
+                throw new IOException("Unexpected end of binary event");
+            }
+            return buffer[position++];
+        }
+
+        private boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        private double readDouble() throws IOException {
+            var bits = 0L;
+            for (var i = 0; i < Long.BYTES; i++) {
+                bits = (bits << 8) | (readByte() & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        private String readString(int length) throws IOException {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IOException("Unexpected end of binary event");
+            }
+            var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
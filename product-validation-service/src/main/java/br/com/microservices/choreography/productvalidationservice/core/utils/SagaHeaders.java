@@ -0,0 +1,60 @@
+package br.com.microservices.choreography.productvalidationservice.core.utils;
+
+import br.com.microservices.choreography.productvalidationservice.core.dtos.Event;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+public final class SagaHeaders {
+
+    public static final String ORDER_ID = "saga-order-id";
+    public static final String TRANSACTION_ID = "saga-transaction-id";
+    public static final String STATUS = "saga-status";
+    public static final String SOURCE = "saga-source";
+    public static final String ORIGINAL_TOPIC = "saga-original-topic";
+    public static final String ORIGINAL_PARTITION = "saga-original-partition";
+    public static final String ORIGINAL_OFFSET = "saga-original-offset";
+    public static final String ATTEMPT = "saga-retry-attempt";
+    public static final String DUE_AT = "saga-retry-due-at";
+    public static final String EXCEPTION_CLASS = "saga-exception-class";
+    public static final String EXCEPTION_MESSAGE = "saga-exception-message";
+    public static final String EXCEPTION_STACKTRACE = "saga-exception-stacktrace";
+
+    private SagaHeaders() {
+    }
+
+    public static void writeRouting(Headers headers, Event event) {
+        write(headers, ORDER_ID, event.getOrderId());
+        write(headers, TRANSACTION_ID, event.getTransactionId());
+        write(headers, STATUS, event.getStatus());
+        write(headers, SOURCE, event.getSource());
+    }
+
+    public static String originalTopic(ConsumerRecord<?, ?> record) {
+        return read(record.headers(), ORIGINAL_TOPIC).orElse(record.topic());
+    }
+
+    public static int attempt(ConsumerRecord<?, ?> record) {
+        return read(record.headers(), ATTEMPT).map(Integer::parseInt).orElse(0);
+    }
+
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        return read(record.headers(), DUE_AT).map(Long::parseLong).orElse(0L);
+    }
+
+    public static Optional<String> read(Headers headers, String name) {
+        var header = headers.lastHeader(name);
+        return header == null || header.value() == null
+                ? Optional.empty()
+                : Optional.of(new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    public static void write(Headers headers, String name, Object value) {
+        headers.remove(name);
+        if (value != null) {
+            headers.add(name, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.microservices.choreography.productvalidationservice.core.utils;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class SagaLogging {
+
+    public static final String ORDER_ID_KEY = "orderId";
+    public static final String TRANSACTION_ID_KEY = "transactionId";
+
+    private static final String OMITTED_PAYLOAD = "<omitted>";
+    private static final String TRUNCATED_SUFFIX = "...<truncated>";
+
+    private final boolean hotPathEnabled;
+    private final double payloadSampleRate;
+    private final int payloadMaxLength;
+
+    public SagaLogging(@Value("${logging.saga.hot-path.enabled}") boolean hotPathEnabled,
+                       @Value("${logging.saga.payload.sample-rate}") double payloadSampleRate,
+                       @Value("${logging.saga.payload.max-length}") int payloadMaxLength) {
+        this.hotPathEnabled = hotPathEnabled;
+        this.payloadSampleRate = payloadSampleRate;
+        this.payloadMaxLength = payloadMaxLength;
+    }
+
+    public boolean isEnabled() {
+        return hotPathEnabled;
+    }
+
+    public Object payload(Object payload) {
+        if (payloadSampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= payloadSampleRate) {
+            return OMITTED_PAYLOAD;
+        }
+        return new TruncatedPayload(payload, payloadMaxLength);
+    }
+
+    public void putIds(String orderId, String transactionId) {
+        if (hotPathEnabled) {
+            MDC.put(ORDER_ID_KEY, orderId);
+            MDC.put(TRANSACTION_ID_KEY, transactionId);
+        }
+    }
+
+    public void clearIds() {
+        if (hotPathEnabled) {
+            MDC.remove(ORDER_ID_KEY);
+            MDC.remove(TRANSACTION_ID_KEY);
+        }
+    }
+
+    private record TruncatedPayload(Object payload, int maxLength) {
+
+        @Override
+        public String toString() {
+            var text = String.valueOf(payload);
+            return text.length() > maxLength
+                    ? text.substring(0, maxLength).concat(TRUNCATED_SUFFIX)
+                    : text;
+        }
+    }
+}